@@ -0,0 +1,66 @@
+package mx.edu.utez.gestor_tareas.Service;
+
+// Bitácora acotada de cambios sobre las tareas, para la sincronización incremental.
+// Cada entrada guarda la versión del servicio, el ID de la tarea y si quedó eliminada.
+// Es un buffer circular en arreglos paralelos de primitivos (sin un objeto por entrada):
+// al llenarse, la entrada más antigua se descarta y se recuerda su versión, porque a partir
+// de ahí ya no se puede responder con precisión a quien pida cambios anteriores.
+// No es segura para hilos: TareaService la usa dentro de su bloqueo.
+class BitacoraCambios {
+
+    // Recibe las entradas de la más reciente a la más antigua
+    interface Visitante {
+        void visitar(long tareaId, boolean eliminada);
+    }
+
+    private final long[] versiones;
+    private final long[] tareaIds;
+    private final boolean[] eliminadas;
+    private int inicio;
+    private int tamanio;
+    private long versionDescartada;
+
+    // Parámetro: capacidad - Número máximo de entradas que se conservan
+    BitacoraCambios(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La bitácora debe admitir al menos una entrada");
+        }
+        this.versiones = new long[capacidad];
+        this.tareaIds = new long[capacidad];
+        this.eliminadas = new boolean[capacidad];
+    }
+
+    // Registra un cambio; las versiones deben llegar en orden creciente
+    void registrar(long version, long tareaId, boolean eliminada) {
+        int capacidad = versiones.length;
+        int posicion;
+        if (tamanio == capacidad) {
+            versionDescartada = versiones[inicio];
+            posicion = inicio;
+            inicio = inicio + 1 == capacidad ? 0 : inicio + 1;
+        } else {
+            posicion = (inicio + tamanio) % capacidad;
+            tamanio++;
+        }
+        versiones[posicion] = version;
+        tareaIds[posicion] = tareaId;
+        eliminadas[posicion] = eliminada;
+    }
+
+    // Verifica si la bitácora conserva todos los cambios posteriores a una versión
+    boolean cubre(long desde) {
+        return desde >= versionDescartada;
+    }
+
+    // Recorre los cambios posteriores a una versión, del más reciente al más antiguo
+    void recorrerDesde(long desde, Visitante visitante) {
+        int capacidad = versiones.length;
+        for (int i = tamanio - 1; i >= 0; i--) {
+            int posicion = (inicio + i) % capacidad;
+            if (versiones[posicion] <= desde) {
+                return;
+            }
+            visitante.visitar(tareaIds[posicion], eliminadas[posicion]);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package mx.edu.utez.gestor_tareas.Service;
+
+import jakarta.annotation.PreDestroy;
+import mx.edu.utez.gestor_tareas.model.EventoCambio;
+import mx.edu.utez.gestor_tareas.util.ColaConcurrente;
+import mx.edu.utez.gestor_tareas.util.Lista;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Canal de Server-Sent Events con los avisos de cambio de TareaService.
+// Cada cliente tiene un buffer acotado de avisos pendientes: el servicio solo encola (O(1) por
+// cliente, sin E/S dentro de su bloqueo) y un pool pequeño de hilos hace los envíos, con a lo
+// sumo un envío en curso por cliente. Si un cliente lento llena su buffer, los avisos nuevos se
+// descartan y se le envía un único evento "resincronizar" para que recargue todo: la memoria
+// por cliente nunca pasa de CAPACIDAD_POR_CLIENTE avisos.
+// Cada LATIDO_SEGUNDOS se envía un comentario para mantener viva la conexión y detectar
+// clientes desconectados.
+// Un envío que pasa de TIEMPO_MAXIMO_ENVIO_MS (cliente que no lee y llenó el socket) abandona al
+// cliente: deja de recibir avisos y, como su hilo sigue bloqueado en la escritura, el pool suma
+// un hilo mientras tanto para que los demás clientes no esperen. El emisor se cierra con error
+// en cuanto la escritura vuelve (el contenedor la corta con su propio tiempo de escritura).
+@Service
+public class CanalCambios {
+    private static final int CAPACIDAD_POR_CLIENTE = 64;
+    private static final long LATIDO_SEGUNDOS = 15;
+    private static final long DURACION_CONEXION_MS = 30 * 60 * 1000L;
+    private static final int HILOS_DE_ENVIO = 2;
+    private static final long TIEMPO_MAXIMO_ENVIO_MS = 10_000;
+    // Tope de hilos del pool, contando los que reemplazan a envíos abandonados
+    private static final int MAXIMO_HILOS_DE_ENVIO = 16;
+
+    // Clientes conectados; la lista se reemplaza completa al conectar o desconectar (copia al escribir)
+    private volatile Lista<Cliente> clientes = new Lista<>();
+
+    private final ThreadPoolExecutor envios = new ThreadPoolExecutor(HILOS_DE_ENVIO, HILOS_DE_ENVIO,
+            0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), hilo("sse-envio"));
+    private final ScheduledExecutorService temporizador =
+            Executors.newSingleThreadScheduledExecutor(hilo("sse-temporizador"));
+    private final long tiempoMaximoEnvioNanos;
+
+    // Hilos extra del pool que reemplazan a los bloqueados por envíos abandonados
+    private int hilosDeReemplazo;
+
+    @Autowired
+    public CanalCambios(TareaService tareaService) {
+        this(tareaService, TIEMPO_MAXIMO_ENVIO_MS);
+    }
+
+    // Constructor con tiempo máximo de envío configurable (para pruebas)
+    CanalCambios(TareaService tareaService, long tiempoMaximoEnvioMs) {
+        this.tiempoMaximoEnvioNanos = TimeUnit.MILLISECONDS.toNanos(tiempoMaximoEnvioMs);
+        tareaService.agregarOyente(this::publicar);
+        temporizador.scheduleAtFixedRate(this::enviarLatidos, LATIDO_SEGUNDOS, LATIDO_SEGUNDOS, TimeUnit.SECONDS);
+        long revision = Math.max(1, tiempoMaximoEnvioMs / 5);
+        temporizador.scheduleAtFixedRate(this::revisarEnvios, revision, revision, TimeUnit.MILLISECONDS);
+    }
+
+    // Registra un nuevo cliente
+    // Retorna: El emisor SSE que el controlador devuelve como respuesta
+    public SseEmitter suscribir() {
+        return suscribir(new SseEmitter(DURACION_CONEXION_MS));
+    }
+
+    // Registra un nuevo cliente con el emisor dado
+    SseEmitter suscribir(SseEmitter emisor) {
+        Cliente cliente = new Cliente(emisor);
+        emisor.onCompletion(() -> quitar(cliente));
+        emisor.onTimeout(() -> quitar(cliente));
+        emisor.onError(error -> quitar(cliente));
+        agregar(cliente);
+        return emisor;
+    }
+
+    // Encola un aviso para todos los clientes (lo invoca TareaService dentro de su bloqueo)
+    void publicar(EventoCambio evento) {
+        for (Cliente cliente : clientes) {
+            cliente.encolar(evento);
+        }
+    }
+
+    // Retorna el número de clientes conectados
+    public int obtenerNumeroClientes() {
+        return clientes.tamanio();
+    }
+
+    private void enviarLatidos() {
+        for (Cliente cliente : clientes) {
+            cliente.latido();
+        }
+    }
+
+    // Abandona a los clientes cuyo envío en curso pasó del tiempo máximo
+    private void revisarEnvios() {
+        long ahora = System.nanoTime();
+        for (Cliente cliente : clientes) {
+            long inicio = cliente.inicioEnvio;
+            if (inicio != 0 && ahora - inicio > tiempoMaximoEnvioNanos) {
+                abandonar(cliente);
+            }
+        }
+    }
+
+    // Deja de enviar avisos al cliente y, si su hilo sigue bloqueado en la escritura, suma un
+    // hilo de reemplazo al pool hasta que esa escritura vuelva
+    private synchronized void abandonar(Cliente cliente) {
+        if (cliente.abandonado.compareAndSet(false, true)) {
+            quitar(cliente);
+            cliente.conReemplazo = cliente.inicioEnvio != 0 && ajustarHilos(1);
+        }
+    }
+
+    // Quita el hilo de reemplazo de un cliente abandonado cuando su envío por fin termina
+    private synchronized void terminarEnvioAbandonado(Cliente cliente) {
+        if (cliente.conReemplazo) {
+            cliente.conReemplazo = false;
+            ajustarHilos(-1);
+        }
+    }
+
+    // Suma o resta hilos de reemplazo al pool (sin pasar de MAXIMO_HILOS_DE_ENVIO)
+    // Retorna: true si se aplicó el ajuste
+    private synchronized boolean ajustarHilos(int cantidad) {
+        int total = HILOS_DE_ENVIO + hilosDeReemplazo + cantidad;
+        if (total > MAXIMO_HILOS_DE_ENVIO || envios.isShutdown()) {
+            return false;
+        }
+        hilosDeReemplazo += cantidad;
+        // El núcleo nunca puede superar al máximo: al crecer se sube primero el máximo
+        if (cantidad > 0) {
+            envios.setMaximumPoolSize(total);
+            envios.setCorePoolSize(total);
+        } else {
+            envios.setCorePoolSize(total);
+            envios.setMaximumPoolSize(total);
+        }
+        return true;
+    }
+
+    private synchronized void agregar(Cliente cliente) {
+        Lista<Cliente> nuevos = clientes.copia();
+        nuevos.agregar(cliente);
+        clientes = nuevos;
+    }
+
+    private synchronized void quitar(Cliente cliente) {
+        Lista<Cliente> nuevos = clientes.copia();
+        nuevos.eliminarSi(otro -> otro == cliente);
+        clientes = nuevos;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        temporizador.shutdownNow();
+        envios.shutdownNow();
+        for (Cliente cliente : clientes) {
+            cliente.emisor.complete();
+        }
+    }
+
+    private static ThreadFactory hilo(String nombre) {
+        return tarea -> {
+            Thread hilo = new Thread(tarea, nombre);
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    // Cliente conectado: su emisor, su buffer acotado y el estado de su envío
+    private final class Cliente {
+        private final SseEmitter emisor;
+        private final ColaConcurrente<EventoCambio> pendientes = new ColaConcurrente<>(CAPACIDAD_POR_CLIENTE);
+        private final AtomicBoolean desbordado = new AtomicBoolean();
+        private final AtomicBoolean latidoPendiente = new AtomicBoolean();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean abandonado = new AtomicBoolean();
+        // System.nanoTime() al empezar el envío en curso (0 si no hay ninguno)
+        private volatile long inicioEnvio;
+        // Si al abandonarlo se sumó un hilo al pool (solo se usa dentro del monitor del canal)
+        private boolean conReemplazo;
+
+        private Cliente(SseEmitter emisor) {
+            this.emisor = emisor;
+        }
+
+        private void encolar(EventoCambio evento) {
+            if (!pendientes.ofrecer(evento)) {
+                desbordado.set(true);
+            }
+            programarEnvio();
+        }
+
+        private void latido() {
+            latidoPendiente.set(true);
+            programarEnvio();
+        }
+
+        // Programa un envío si no hay uno en curso para este cliente
+        private void programarEnvio() {
+            if (enviando.compareAndSet(false, true)) {
+                try {
+                    envios.execute(this::enviar);
+                } catch (RuntimeException e) {
+                    // El canal se está cerrando
+                    enviando.set(false);
+                }
+            }
+        }
+
+        private void enviar() {
+            try {
+                do {
+                    if (desbordado.getAndSet(false)) {
+                        while (pendientes.sondear() != null) {
+                            // Se descartan: el cliente recargará todo
+                        }
+                        enviarEvento(SseEmitter.event().name("resincronizar").data("{}", MediaType.APPLICATION_JSON));
+                    }
+                    EventoCambio evento;
+                    while ((evento = pendientes.sondear()) != null) {
+                        enviarEvento(SseEmitter.event().name("cambio").data(evento, MediaType.APPLICATION_JSON));
+                    }
+                    if (latidoPendiente.getAndSet(false)) {
+                        enviarEvento(SseEmitter.event().comment("latido"));
+                    }
+                    enviando.set(false);
+                    // Un aviso pudo llegar justo antes de liberar el envío: se revisa de nuevo
+                } while ((!pendientes.estaVacia() || desbordado.get() || latidoPendiente.get())
+                        && enviando.compareAndSet(false, true));
+            } catch (IOException | RuntimeException e) {
+                // Cliente desconectado o abandonado por lento
+                enviando.set(false);
+                quitar(this);
+                emisor.completeWithError(e);
+            } finally {
+                if (abandonado.get()) {
+                    terminarEnvioAbandonado(this);
+                }
+            }
+        }
+
+        // Envía un evento marcando su inicio para que revisarEnvios detecte si se atasca
+        private void enviarEvento(SseEmitter.SseEventBuilder evento) throws IOException {
+            if (abandonado.get()) {
+                throw new IOException("Cliente abandonado: un envío superó el tiempo máximo");
+            }
+            inicioEnvio = System.nanoTime();
+            try {
+                emisor.send(evento);
+            } finally {
+                inicioEnvio = 0;
+            }
+            if (abandonado.get()) {
+                throw new IOException("Cliente abandonado: un envío superó el tiempo máximo");
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package mx.edu.utez.gestor_tareas.Service;
+
+import mx.edu.utez.gestor_tareas.model.Accion;
+import mx.edu.utez.gestor_tareas.util.ArchivoSegmentado;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// Formato binario de las acciones que el historial acotado guarda en disco:
+// tipo (1 byte), ID de la tarea, título como longitud + bytes UTF-8 (-1 para null)
+// y marca de tiempo en nanosegundos desde la época.
+class CodificadorAccion implements ArchivoSegmentado.Codificador<Accion> {
+
+    private static final Accion.Tipo[] TIPOS = Accion.Tipo.values();
+
+    @Override
+    public void escribir(DataOutput salida, Accion accion) throws IOException {
+        salida.writeByte(accion.getTipo().ordinal());
+        salida.writeLong(accion.getTareaId());
+        escribirTexto(salida, accion.getTitulo());
+        salida.writeLong(accion.getMarcaTiempo());
+    }
+
+    @Override
+    public Accion leer(DataInput entrada) throws IOException {
+        Accion.Tipo tipo = TIPOS[entrada.readUnsignedByte()];
+        long tareaId = entrada.readLong();
+        String titulo = leerTexto(entrada);
+        return new Accion(tipo, tareaId, titulo, entrada.readLong());
+    }
+
+    private static void escribirTexto(DataOutput salida, String texto) throws IOException {
+        if (texto == null) {
+            salida.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    private static String leerTexto(DataInput entrada) throws IOException {
+        int longitud = entrada.readInt();
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,18 +1,63 @@
 package mx.edu.utez.gestor_tareas.Service;
 
 import mx.edu.utez.gestor_tareas.model.Accion;
+import mx.edu.utez.gestor_tareas.model.CambioTarea;
+import mx.edu.utez.gestor_tareas.model.CambiosDesde;
+import mx.edu.utez.gestor_tareas.model.EntradaCola;
+import mx.edu.utez.gestor_tareas.model.Estadisticas;
+import mx.edu.utez.gestor_tareas.model.EstadisticasCache;
+import mx.edu.utez.gestor_tareas.model.EventoCambio;
+import mx.edu.utez.gestor_tareas.model.Pagina;
+import mx.edu.utez.gestor_tareas.model.ResumenDashboard;
 import mx.edu.utez.gestor_tareas.model.Tarea;
+import jakarta.annotation.PreDestroy;
 import mx.edu.utez.gestor_tareas.util.ArbolBinario;
-import mx.edu.utez.gestor_tareas.util.Cola;
+import mx.edu.utez.gestor_tareas.util.ArchivoSegmentado;
+import mx.edu.utez.gestor_tareas.util.CacheLRU;
+import mx.edu.utez.gestor_tareas.util.ColaConcurrente;
+import mx.edu.utez.gestor_tareas.util.IndiceInvertido;
+import mx.edu.utez.gestor_tareas.util.IndiceOrdenado;
 import mx.edu.utez.gestor_tareas.util.Lista;
+import mx.edu.utez.gestor_tareas.util.MapaBits;
 import mx.edu.utez.gestor_tareas.util.Pila;
+import mx.edu.utez.gestor_tareas.util.TablaHashLong;
+import mx.edu.utez.gestor_tareas.util.TrieTitulos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 // Servicio que gestiona las tareas utilizando las estructuras de datos:
 // - Lista/Arreglo: Para almacenamiento principal de tareas
 // - Pila: Para historial de acciones (LIFO)
-// - Cola: Para procesar tareas por orden de llegada (FIFO)
+// - Cola: Para procesar tareas por orden de llegada (FIFO), sin bloqueos entre consumidores
 // - Árbol Binario: Para organizar tareas por prioridad
+// - Tabla Hash: Para localizar tareas por ID en tiempo constante
+// - Índice invertido: Para buscar por palabras del título y la descripción sin recorrer la lista
+// - Trie: Para autocompletar títulos por prefijo, primero las tareas de mayor prioridad
+//
+// Bloqueos (el StampedLock "cerrojo" no es reentrante):
+// - Escritura: toda modificación de la lista, los índices, el árbol, el trie, la pila y la
+//   bitácora, y encolar o compactar la cola.
+// - Lectura: recorridos del árbol y procesarSiguienteTarea (la cola admite varios consumidores).
+// - Lectura optimista: consultas acotadas; se repiten con el de lectura si la marca no es válida.
+// - "publicacion": asigna la versión y avisa a los oyentes en orden; los oyentes no deben bloquear.
+// Los lectores reciben copias y ven el estado entre dos modificaciones completas.
 @Service
 public class TareaService {
     // Lista/Arreglo: Almacenamiento principal de tareas
@@ -20,20 +65,138 @@ public class TareaService {
     
     // Pila: Historial de acciones (LIFO - Last In, First Out)
     private Pila<Accion> historialAcciones;
+
+    // Acciones desalojadas del historial acotado (null si el historial no tiene límite)
+    private ArchivoSegmentado<Accion> archivoHistorial;
     
     // Cola: Tareas pendientes por procesar (FIFO - First In, First Out)
-    private Cola<Tarea> colaTareasPendientes;
+    private ColaConcurrente<EntradaCola> colaTareasPendientes;
+
+    // Entradas de la cola por ID de tarea, para marcarlas como muertas sin recorrer la cola.
+    // Una entrada sale del mapa al morir (la guarda la acción del historial por si se deshace) o al
+    // compactar la cola; las que desencola procesarSiguienteTarea (bajo el bloqueo de lectura, que no
+    // permite tocar el mapa) se quitan en bloque cuando son muchas (ver purgarConsumidasSiHaceFalta)
+    private TablaHashLong<EntradaCola> entradasEnCola;
+
+    // Entradas del mapa que ya se desencolaron y esperan la purga
+    private final AtomicInteger consumidasEnMapa = new AtomicInteger();
+
+    // Secuencia de la última entrada encolada: crece en el orden de la cola y sirve de cursor
+    // (solo se escribe bajo el bloqueo de escritura)
+    private long secuenciaCola;
+
+    // Entradas marcadas como muertas que siguen ocupando la cola
+    private final AtomicInteger muertasEnCola = new AtomicInteger();
     
     // Árbol Binario: Organización de tareas por prioridad
     private ArbolBinario arbolPorPrioridad;
+
+    // Tabla Hash: Índice de tareas por ID (se mantiene sincronizado con la lista)
+    private TablaHashLong<Tarea> indicePorId;
+
+    // Índice invertido: términos del título y la descripción -> IDs de las tareas
+    private IndiceInvertido indiceTexto;
+
+    // Trie: títulos normalizados con conteos por prioridad, para las sugerencias
+    private TrieTitulos trieTitulos;
+
+    // Caché LRU de búsquedas: consulta normalizada -> IDs encontrados, marcados con la versión del índice de texto
+    private final CacheLRU<long[]> cacheBusquedas = new CacheLRU<>(CAPACIDAD_CACHE_BUSQUEDAS);
+
+    // Versión del índice de texto: aumenta solo cuando cambia lo que una búsqueda puede encontrar
+    // (se agrega, se retira o se reescribe una tarea). Es aparte de "version" para que procesar la
+    // cola o cambiar la prioridad no invaliden la caché. Se escribe con el bloqueo de escritura y se
+    // lee con el de lectura
+    private long versionTexto;
     
     private Long contadorId;
 
+    // Número de tareas por estado y por prioridad (índice = ordinal), actualizados en cada modificación
+    private final int[] tareasPorEstado = new int[Tarea.Estado.values().length];
+    private final int[] tareasPorPrioridad = new int[Tarea.Prioridad.values().length];
+
+    // Mapas de bits por estado y por prioridad (índice = ordinal; un bit por ID de tarea), para filtrar.
+    // Como el bit es el ID, cada mapa mide lo que el ID más alto asignado hasta ahora, no lo que las
+    // tareas vivas: los IDs no se reutilizan y los mapas no se encogen al eliminar. Con 6 mapas son
+    // unos 6 bits por ID asignado en toda la ejecución (~750 KB por millón de tareas creadas), que se
+    // acepta a cambio de no renumerar. Los IDs deben caber en un int (ver bitDe)
+    private final MapaBits[] mapasPorEstado = nuevosMapas(Tarea.Estado.values().length);
+    private final MapaBits[] mapasPorPrioridad = nuevosMapas(Tarea.Prioridad.values().length);
+
+    // Índice ordenado por fecha de creación -> ID, para filtrar por rango de fechas
+    private final IndiceOrdenado indicePorFecha = new IndiceOrdenado();
+
+    private final StampedLock cerrojo = new StampedLock();
+
+    // Versión de los datos: aumenta con cada modificación (también al procesar la cola, que solo
+    // toma el bloqueo de lectura, por eso es atómica y se lee sin bloquear)
+    private final AtomicLong version = new AtomicLong();
+
+    // Serializa la asignación de versión con el aviso a los oyentes: varios consumidores de la
+    // cola registran cambios a la vez bajo el bloqueo de lectura, y sin esto un aviso podría
+    // salir antes que el de una versión menor
+    private final Object publicacion = new Object();
+
+    // Época de esta instancia: un identificador aleatorio por arranque. La versión vuelve a 0 en
+    // cada arranque, así que una versión solo identifica los datos junto con su época
+    private final String epoca = Long.toUnsignedString(new SecureRandom().nextLong(), 36);
+
+    // Bitácora de los cambios recientes sobre las tareas (solo se usa dentro del bloqueo)
+    private final BitacoraCambios bitacora = new BitacoraCambios(CAPACIDAD_BITACORA);
+
+    // Oyentes de cambios; la lista se reemplaza completa al registrar uno (copia al escribir)
+    private volatile Lista<Consumer<EventoCambio>> oyentes = new Lista<>();
+
+    // La cola se compacta cuando las entradas muertas superan esta proporción (y este mínimo)
+    private static final double PROPORCION_MAXIMA_MUERTAS = 0.5;
+    private static final int MINIMO_MUERTAS_PARA_COMPACTAR = 32;
+
+    // Cambios de tareas que conserva la bitácora de sincronización incremental
+    private static final int CAPACIDAD_BITACORA = 10_000;
+
+    // Acciones por archivo de segmento del historial en disco
+    private static final int ACCIONES_POR_SEGMENTO = 4096;
+
+    // Consultas distintas que conserva la caché de búsquedas
+    private static final int CAPACIDAD_CACHE_BUSQUEDAS = 256;
+
+    // Constructor con historial sin límite (todo en memoria)
     public TareaService() {
+        this(0, null);
+    }
+
+    // Constructor con historial acotado
+    // Parámetros: capacidadHistorial - Acciones que se conservan en memoria (0 o menos para no acotar),
+    //             directorioHistorial - Carpeta donde se crea la subcarpeta privada de los segmentos
+    //                                   (vacío = carpeta temporal del sistema)
+    @Autowired
+    public TareaService(@Value("${gestor.historial.capacidad:0}") int capacidadHistorial,
+                        @Value("${gestor.historial.directorio:}") String directorioHistorial) {
         this.tareas = new Lista<>();
-        this.historialAcciones = new Pila<>();
-        this.colaTareasPendientes = new Cola<>();
+        if (capacidadHistorial > 0) {
+            Path base = directorioHistorial == null || directorioHistorial.isBlank()
+                    ? Path.of(System.getProperty("java.io.tmpdir"))
+                    : Path.of(directorioHistorial);
+            Path directorio;
+            try {
+                Files.createDirectories(base);
+                // Carpeta con nombre impredecible y permisos solo para el dueño: nadie más la comparte
+                directorio = Files.createTempDirectory(base, "gestor-tareas-historial-");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.archivoHistorial = new ArchivoSegmentado<>(directorio, "historial", ACCIONES_POR_SEGMENTO,
+                    new CodificadorAccion());
+            this.historialAcciones = new Pila<>(capacidadHistorial, archivoHistorial::agregar);
+        } else {
+            this.historialAcciones = new Pila<>();
+        }
+        this.colaTareasPendientes = new ColaConcurrente<>();
+        this.entradasEnCola = new TablaHashLong<>();
         this.arbolPorPrioridad = new ArbolBinario();
+        this.indicePorId = new TablaHashLong<>();
+        this.indiceTexto = new IndiceInvertido();
+        this.trieTitulos = new TrieTitulos();
         this.contadorId = 1L;
     }
 
@@ -42,184 +205,1040 @@ public class TareaService {
     // Agrega una nueva tarea a la lista principal
     // También la agrega a la cola de pendientes, al árbol binario y registra la acción en la pila
     public Tarea agregarTarea(String titulo, String descripcion, Tarea.Prioridad prioridad) {
-        Tarea nuevaTarea = new Tarea(contadorId++, titulo, descripcion, prioridad, Tarea.Estado.PENDIENTE);
-        
-        tareas.agregar(nuevaTarea);
-        colaTareasPendientes.encolar(nuevaTarea);
-        arbolPorPrioridad.insertar(nuevaTarea);
-        historialAcciones.push(new Accion("CREAR", "Tarea creada: " + titulo));
-        
-        return nuevaTarea;
+        return escritura(() -> {
+            Tarea nuevaTarea = new Tarea(contadorId++, titulo, descripcion, prioridad, Tarea.Estado.PENDIENTE);
+
+            tareas.agregar(nuevaTarea);
+            indicePorId.insertar(nuevaTarea.getId(), nuevaTarea);
+            indiceTexto.agregar(nuevaTarea.getId(), titulo, descripcion);
+            versionTexto++;
+            trieTitulos.insertar(nuevaTarea);
+            indicePorFecha.insertar(claveFecha(nuevaTarea.getFechaCreacion()), nuevaTarea.getId());
+            contar(nuevaTarea, 1);
+            encolarPendiente(nuevaTarea);
+            arbolPorPrioridad.insertar(nuevaTarea);
+            historialAcciones.push(new Accion(Accion.Tipo.CREAR, nuevaTarea));
+            registrarCambio(EventoCambio.Tipo.CREAR, nuevaTarea.getId(), true, true, true);
+
+            return nuevaTarea;
+        });
     }
 
     // Elimina una tarea de la lista principal por ID
     public boolean eliminarTarea(Long id) {
-        Tarea tareaEliminada = buscarTareaPorId(id);
-        if (tareaEliminada != null) {
-            tareas.eliminar(tareaEliminada);
-            arbolPorPrioridad.eliminar(tareaEliminada);
-            historialAcciones.push(new Accion("ELIMINAR", "Tarea eliminada: " + tareaEliminada.getTitulo()));
-            return true;
+        return escritura(() -> {
+            Tarea tareaEliminada = buscarInterno(id);
+            if (tareaEliminada != null) {
+                EntradaCola lugarEnCola = quitarDeEstructuras(tareaEliminada);
+                historialAcciones.push(new Accion(Accion.Tipo.ELIMINAR, tareaEliminada,
+                        CambioTarea.deEliminacion(tareaEliminada, tareaEliminada.getEstado(), lugarEnCola)));
+                registrarCambio(EventoCambio.Tipo.ELIMINAR, id, true, lugarEnCola != null, true);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    // Agrega una tarea a la cola de pendientes, ampliándola si está llena (requiere el bloqueo de escritura)
+    private void encolarPendiente(Tarea tarea) {
+        EntradaCola entrada = new EntradaCola(tarea, ++secuenciaCola);
+        while (!colaTareasPendientes.ofrecer(entrada)) {
+            colaTareasPendientes.ampliar();
         }
-        return false;
+        entradasEnCola.insertar(tarea.getId(), entrada);
+        purgarConsumidasSiHaceFalta();
     }
 
-    // Busca una tarea por ID
-    public Tarea buscarTareaPorId(Long id) {
-        for (int i = 0; i < tareas.tamanio(); i++) {
-            Tarea tarea = tareas.obtener(i);
-            if (tarea.getId().equals(id)) {
-                return tarea;
+    // Reconstruye el mapa de entradas con las que siguen en la cola si las ya desencoladas superan la
+    // proporción máxima; así el mapa no crece más que la cola viva (requiere el bloqueo de escritura)
+    private void purgarConsumidasSiHaceFalta() {
+        int consumidas = consumidasEnMapa.get();
+        if (consumidas < MINIMO_MUERTAS_PARA_COMPACTAR
+                || consumidas <= entradasEnCola.tamanio() * PROPORCION_MAXIMA_MUERTAS) {
+            return;
+        }
+        // Sin consumidores concurrentes, lo que queda en la cola es justo lo no desencolado
+        TablaHashLong<EntradaCola> entradas = new TablaHashLong<>();
+        for (EntradaCola entrada : colaTareasPendientes.obtenerTodos(viva -> viva.isMuerta() ? null : viva)) {
+            entradas.insertar(entrada.getTarea().getId(), entrada);
+        }
+        entradasEnCola = entradas;
+        consumidasEnMapa.set(0);
+    }
+
+    // Quita una tarea de la lista, los índices y el árbol, y marca su entrada de la cola como muerta.
+    // La entrada sale del mapa de entradas; quien la necesite para deshacer la guarda en su acción
+    // (requiere el bloqueo de escritura)
+    // Retorna: La entrada muerta si la tarea seguía pendiente en la cola, o null
+    private EntradaCola quitarDeEstructuras(Tarea tarea) {
+        tareas.eliminar(posicionEnLista(tarea.getId()));
+        indicePorId.eliminar(tarea.getId());
+        indiceTexto.eliminar(tarea.getId(), tarea.getTitulo(), tarea.getDescripcion());
+        versionTexto++;
+        trieTitulos.eliminar(tarea);
+        indicePorFecha.eliminar(claveFecha(tarea.getFechaCreacion()), tarea.getId());
+        arbolPorPrioridad.eliminar(tarea);
+        contar(tarea, -1);
+        EntradaCola entrada = entradasEnCola.eliminar(tarea.getId());
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.isConsumida()) {
+            consumidasEnMapa.decrementAndGet();
+            return null;
+        }
+        entrada.setMuerta(true);
+        muertasEnCola.incrementAndGet();
+        compactarColaSiHaceFalta();
+        return entrada;
+    }
+
+    // Vuelve a poner una tarea retirada en la lista (búsqueda binaria), los índices, el árbol y,
+    // si seguía pendiente, en la cola (requiere el bloqueo de escritura).
+    // La lista es el arreglo ordenado por ID que da el acceso por posición de los listados y las
+    // páginas; reinsertar en medio desplaza la cola del arreglo con System.arraycopy (O(n)), igual
+    // que lo hizo el retiro, y solo ocurre al deshacer.
+    // Parámetros: tarea - La tarea retirada, entrada - Entrada muerta que ocupaba (null si no estaba)
+    private void restaurarEnEstructuras(Tarea tarea, EntradaCola entrada) {
+        tareas.agregar(-(posicionEnLista(tarea.getId()) + 1), tarea);
+        indicePorId.insertar(tarea.getId(), tarea);
+        indiceTexto.agregar(tarea.getId(), tarea.getTitulo(), tarea.getDescripcion());
+        versionTexto++;
+        trieTitulos.insertar(tarea);
+        indicePorFecha.insertar(claveFecha(tarea.getFechaCreacion()), tarea.getId());
+        arbolPorPrioridad.insertar(tarea);
+        contar(tarea, 1);
+        if (entrada != null) {
+            // Si su entrada muerta no se ha desencolado ni compactado, recupera su lugar en la cola
+            if (entrada.isMuerta() && !entrada.isConsumida()) {
+                entrada.setMuerta(false);
+                muertasEnCola.decrementAndGet();
+                entradasEnCola.insertar(tarea.getId(), entrada);
+            } else {
+                encolarPendiente(tarea);
+            }
+        }
+    }
+
+    // Suma (o resta) una tarea en los contadores y los mapas de bits de su estado y su prioridad
+    // actuales (requiere el bloqueo de escritura)
+    private void contar(Tarea tarea, int cantidad) {
+        int estado = tarea.getEstado().ordinal();
+        int prioridad = tarea.getPrioridad().ordinal();
+        tareasPorEstado[estado] += cantidad;
+        tareasPorPrioridad[prioridad] += cantidad;
+        int bit = bitDe(tarea.getId());
+        if (cantidad > 0) {
+            mapasPorEstado[estado].activar(bit);
+            mapasPorPrioridad[prioridad].activar(bit);
+        } else {
+            mapasPorEstado[estado].desactivar(bit);
+            mapasPorPrioridad[prioridad].desactivar(bit);
+        }
+    }
+
+    // Bit de una tarea en los mapas: su ID (los IDs se asignan de forma creciente desde 1)
+    private static int bitDe(long id) {
+        return Math.toIntExact(id);
+    }
+
+    // Clave de una fecha en el índice ordenado: nanosegundos desde 1970 (sin zona horaria, como la fecha).
+    // Fuera de lo que cabe en un long (antes de 1677 o después de 2262) se satura al extremo, así que
+    // un límite lejano del filtro sigue abarcando todas las tareas de su lado
+    private static long claveFecha(LocalDateTime fecha) {
+        if (fecha == null) {
+            return Long.MIN_VALUE;
+        }
+        long segundos = fecha.toEpochSecond(ZoneOffset.UTC);
+        try {
+            return Math.addExact(Math.multiplyExact(segundos, 1_000_000_000L), fecha.getNano());
+        } catch (ArithmeticException e) {
+            return segundos < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static MapaBits[] nuevosMapas(int cantidad) {
+        MapaBits[] mapas = new MapaBits[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            mapas[i] = new MapaBits();
+        }
+        return mapas;
+    }
+
+    // Cambia los campos de una tarea manteniendo el árbol ordenado, el índice de texto, el trie y
+    // los contadores al día (requiere el bloqueo de escritura)
+    private void aplicarCambios(Tarea tarea, String titulo, String descripcion, Tarea.Prioridad prioridad,
+                                Tarea.Estado estado) {
+        boolean cambiaPrioridad = tarea.getPrioridad() != prioridad;
+        boolean cambiaTitulo = !Objects.equals(tarea.getTitulo(), titulo);
+        boolean cambiaTexto = cambiaTitulo || !Objects.equals(tarea.getDescripcion(), descripcion);
+        // El índice de texto y el trie se actualizan retirando la tarea con los valores anteriores
+        if (cambiaTexto) {
+            indiceTexto.eliminar(tarea.getId(), tarea.getTitulo(), tarea.getDescripcion());
+        }
+        if (cambiaTitulo || cambiaPrioridad) {
+            trieTitulos.eliminar(tarea);
+        }
+        // El árbol se ordena por prioridad: se retira con la prioridad anterior antes de cambiarla
+        if (cambiaPrioridad) {
+            arbolPorPrioridad.eliminar(tarea);
+        }
+        contar(tarea, -1);
+        tarea.setTitulo(titulo);
+        tarea.setDescripcion(descripcion);
+        tarea.setPrioridad(prioridad);
+        tarea.setEstado(estado);
+        contar(tarea, 1);
+        if (cambiaTexto) {
+            indiceTexto.agregar(tarea.getId(), titulo, descripcion);
+            versionTexto++;
+        }
+        if (cambiaTitulo || cambiaPrioridad) {
+            trieTitulos.insertar(tarea);
+        }
+
+        if (cambiaPrioridad) {
+            arbolPorPrioridad.insertar(tarea);
+        }
+    }
+
+    // Reconstruye la cola solo con las entradas vivas si las muertas superan la proporción máxima.
+    // El mapa de entradas se rehace con ellas, así que también salen las ya consumidas
+    // (requiere el bloqueo de escritura)
+    private void compactarColaSiHaceFalta() {
+        int muertas = muertasEnCola.get();
+        if (muertas < MINIMO_MUERTAS_PARA_COMPACTAR
+                || muertas <= colaTareasPendientes.tamanio() * PROPORCION_MAXIMA_MUERTAS) {
+            return;
+        }
+        ColaConcurrente<EntradaCola> compactada = new ColaConcurrente<>(colaTareasPendientes.tamanio() - muertas);
+        TablaHashLong<EntradaCola> entradas = new TablaHashLong<>();
+        EntradaCola entrada;
+        while ((entrada = colaTareasPendientes.sondear()) != null) {
+            if (entrada.isMuerta()) {
+                // Sale de la cola: ya no se puede revivir al deshacer
+                entrada.marcarConsumida();
+            } else {
+                while (!compactada.ofrecer(entrada)) {
+                    compactada.ampliar();
+                }
+                entradas.insertar(entrada.getTarea().getId(), entrada);
             }
         }
-        return null;
+        colaTareasPendientes = compactada;
+        entradasEnCola = entradas;
+        muertasEnCola.set(0);
+        consumidasEnMapa.set(0);
+    }
+
+    // Obtiene la posición de la lista donde empieza la página que sigue a una tarea (requiere un bloqueo
+    // o lectura optimista). La tarea del cursor no necesita seguir en la lista.
+    // Parámetro: despuesDe - ID de la última tarea entregada, o null para empezar desde el inicio
+    private int posicionDespuesDe(Long despuesDe) {
+        if (despuesDe == null) {
+            return 0;
+        }
+        int posicion = posicionEnLista(despuesDe);
+        return posicion >= 0 ? posicion + 1 : -(posicion + 1);
+    }
+
+    // Cursor de la página siguiente: el ID de la última tarea entregada, o null si no hay más
+    private static Long cursorSiguiente(Lista<Tarea> pagina, boolean hayMas) {
+        return hayMas && !pagina.estaVacia() ? pagina.obtener(pagina.tamanio() - 1).getId() : null;
+    }
+
+    // Obtiene la posición de una tarea en la lista principal mediante búsqueda binaria:
+    // la lista está ordenada por ID porque los IDs se asignan de forma creciente
+    // Retorna: Índice de la tarea, o -(punto de inserción + 1) si no está
+    private int posicionEnLista(long id) {
+        int inicio = 0;
+        int fin = tareas.tamanio() - 1;
+        while (inicio <= fin) {
+            int medio = (inicio + fin) >>> 1;
+            long idMedio = tareas.obtener(medio).getId();
+            if (idMedio < id) {
+                inicio = medio + 1;
+            } else if (idMedio > id) {
+                fin = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(inicio + 1);
+    }
+
+    // Busca una tarea por ID usando el índice hash (O(1))
+    public Tarea buscarTareaPorId(Long id) {
+        return lecturaOptimista(() -> buscarInterno(id));
+    }
+
+    private Tarea buscarInterno(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return indicePorId.obtener(id);
+    }
+
+    // Busca tareas por palabras del título y la descripción con el índice invertido, sin recorrer la lista.
+    // Deben aparecer todas las palabras de la consulta (AND), cada una como palabra completa o como
+    // inicio de una palabra, sin distinguir mayúsculas ni acentos ("cancion" encuentra "Canción").
+    // Una consulta sin palabras devuelve todas las tareas.
+    // Retorna: Tareas que coinciden, ordenadas por ID
+    public Lista<Tarea> buscarTareas(String consulta) {
+        return buscarTareas(consulta, false);
+    }
+
+    // Igual que buscarTareas(consulta); con difuso = true además tolera errores de escritura: cada
+    // palabra también coincide con las palabras a 1 edición (de 3 a 5 letras) o 2 ediciones (6 o más)
+    // Parámetros: consulta - Palabras a buscar, difuso - true para la búsqueda tolerante a errores
+    public Lista<Tarea> buscarTareas(String consulta, boolean difuso) {
+        return lectura(() -> {
+            long[] ids = idsBuscados(consulta, difuso);
+            return ids == null ? tareas.copia() : tareasConIds(ids, 0, ids.length);
+        });
     }
 
-    // Busca tareas por título
-    public Lista<Tarea> buscarTareasPorTitulo(String titulo) {
-        Lista<Tarea> resultado = new Lista<>();
-        String tituloLower = titulo.toLowerCase();
-        for (int i = 0; i < tareas.tamanio(); i++) {
-            Tarea tarea = tareas.obtener(i);
-            if (tarea.getTitulo().toLowerCase().contains(tituloLower)) {
-                resultado.agregar(tarea);
+    // Obtiene una página de la búsqueda por palabras, ordenada por ID
+    // Parámetros: consulta - Palabras a buscar, difuso - true para la búsqueda tolerante a errores,
+    //             despuesDe - ID de la última tarea entregada (null para empezar desde el inicio),
+    //             limite - Número máximo de tareas
+    public Pagina<Tarea> buscarTareas(String consulta, boolean difuso, Long despuesDe, int limite) {
+        return lectura(() -> {
+            long[] ids = idsBuscados(consulta, difuso);
+            if (ids == null) {
+                int inicio = posicionDespuesDe(despuesDe);
+                Lista<Tarea> pagina = tareas.obtenerRango(inicio, limite);
+                return new Pagina<>(pagina, cursorSiguiente(pagina, inicio + pagina.tamanio() < tareas.tamanio()));
+            }
+            int inicio = 0;
+            if (despuesDe != null) {
+                int posicion = Arrays.binarySearch(ids, despuesDe);
+                inicio = posicion >= 0 ? posicion + 1 : -(posicion + 1);
             }
+            int fin = (int) Math.min(ids.length, (long) inicio + limite);
+            Lista<Tarea> pagina = tareasConIds(ids, inicio, fin);
+            return new Pagina<>(pagina, cursorSiguiente(pagina, fin < ids.length));
+        });
+    }
+
+    // Obtiene los contadores de la caché de búsquedas (aciertos, fallos, desalojos, invalidadas)
+    public EstadisticasCache obtenerEstadisticasCacheBusquedas() {
+        return cacheBusquedas.estadisticas();
+    }
+
+    // IDs de una búsqueda desde la caché, o del índice si no están o son de otra versión del índice de texto
+    // La clave es la consulta normalizada, así que "Reunión  Equipo" y "reunion equipo" comparten entrada.
+    // Se llama dentro del bloqueo de lectura. La versión general no sirve aquí: procesarSiguienteTarea
+    // la aumenta con el bloqueo de lectura (en paralelo con esta consulta) e invalidaría la caché en
+    // cada llamada. versionTexto solo se aumenta con el bloqueo de escritura, así que no cambia
+    // mientras se calcula el resultado. El arreglo guardado se comparte entre consultas y no se modifica
+    // Retorna: IDs ordenados, o null si la consulta no tiene palabras
+    private long[] idsBuscados(String consulta, boolean difuso) {
+        String clave = TrieTitulos.normalizar(consulta);
+        if (clave.isEmpty()) {
+            return null;
+        }
+        if (difuso) {
+            clave = "~" + clave;
+        }
+        long[] ids = cacheBusquedas.obtener(clave, versionTexto);
+        if (ids == null) {
+            ids = indiceTexto.buscar(consulta, difuso);
+            cacheBusquedas.guardar(clave, versionTexto, ids);
+        }
+        return ids;
+    }
+
+    // Sugiere tareas cuyo título empieza con un prefijo (sin distinguir mayúsculas ni acentos),
+    // primero las de mayor prioridad; el costo depende del prefijo y del límite, no del total
+    // Parámetros: prefijo - Inicio del título, limite - Número máximo de sugerencias
+    public Lista<Tarea> sugerirTareas(String prefijo, int limite) {
+        return lectura(() -> trieTitulos.sugerir(prefijo, limite));
+    }
+
+    // Tareas de un tramo de IDs del índice de texto (requiere el bloqueo de lectura)
+    private Lista<Tarea> tareasConIds(long[] ids, int desde, int hasta) {
+        Lista<Tarea> resultado = new Lista<>(Math.max(1, hasta - desde));
+        for (int i = desde; i < hasta; i++) {
+            resultado.agregar(indicePorId.obtener(ids[i]));
         }
         return resultado;
     }
 
-    // Obtiene todas las tareas
+    // Obtiene todas las tareas (copia de la lista principal)
     public Lista<Tarea> obtenerTodasLasTareas() {
-        return tareas;
+        return lecturaOptimista(tareas::copia);
+    }
+
+    // Obtiene una página de tareas ordenadas por ID (una copia en bloque del tramo de la lista)
+    // Parámetros: despuesDe - ID de la última tarea entregada (null para empezar desde el inicio),
+    //             limite - Número máximo de tareas
+    public Pagina<Tarea> obtenerPaginaDeTareas(Long despuesDe, int limite) {
+        return lecturaOptimista(() -> {
+            int inicio = posicionDespuesDe(despuesDe);
+            Lista<Tarea> pagina = tareas.obtenerRango(inicio, limite);
+            return new Pagina<>(pagina, cursorSiguiente(pagina, inicio + pagina.tamanio() < tareas.tamanio()));
+        });
+    }
+
+    // Filtra las tareas por estado, prioridad y rango de fechas de creación con los índices.
+    // Los filtros vacíos o null no restringen; varios estados (o prioridades) se unen con OR y los
+    // filtros distintos con AND; las fechas incluyen ambos extremos.
+    // Retorna: Tareas que cumplen todos los filtros, ordenadas por ID
+    public Lista<Tarea> filtrarTareas(Tarea.Estado[] estados, Tarea.Prioridad[] prioridades,
+                                      LocalDateTime desde, LocalDateTime hasta) {
+        return filtrarTareas(estados, prioridades, desde, hasta, null, Integer.MAX_VALUE).getElementos();
+    }
+
+    // Obtiene una página del filtro por estado, prioridad y fechas, ordenada por ID.
+    // No se arma el resultado completo: se recorre desde el cursor el índice con menos candidatos
+    // (los mapas de bits de los estados o de las prioridades pedidas, o la lista completa) y a cada
+    // candidato se le revisan los demás filtros, hasta llenar la página. Si el rango de fechas abarca
+    // aún menos tareas, se revisa ese tramo del índice por fecha y se ordena por ID.
+    // Parámetros: estados, prioridades, desde, hasta - Filtros (ver filtrarTareas), despuesDe - ID de
+    //             la última tarea entregada (null para empezar desde el inicio; uno negativo empieza
+    //             desde el inicio y uno fuera de rango da una página vacía, como en obtenerPaginaDeTareas),
+    //             limite - Número máximo de tareas
+    public Pagina<Tarea> filtrarTareas(Tarea.Estado[] estados, Tarea.Prioridad[] prioridades,
+                                       LocalDateTime desde, LocalDateTime hasta, Long despuesDe, int limite) {
+        boolean porEstado = estados != null && estados.length > 0;
+        boolean porPrioridad = prioridades != null && prioridades.length > 0;
+        boolean porFecha = desde != null || hasta != null;
+        if (!porEstado && !porPrioridad && !porFecha) {
+            return obtenerPaginaDeTareas(despuesDe, limite);
+        }
+        if (despuesDe != null && despuesDe >= Integer.MAX_VALUE) {
+            return new Pagina<>(new Lista<>(1), null);
+        }
+        int primerBit = despuesDe == null || despuesDe < 0 ? 0 : bitDe(despuesDe) + 1;
+        FiltroTareas filtro = new FiltroTareas(estados, prioridades,
+                desde == null ? Long.MIN_VALUE : claveFecha(desde), hasta == null ? Long.MAX_VALUE : claveFecha(hasta));
+        return lectura(() -> {
+            // Índice con menos candidatos, ordenado por ID
+            MapaBits[] recorrido = null;
+            long candidatos = tareas.tamanio();
+            if (porEstado && contarPedidos(tareasPorEstado, estados) < candidatos) {
+                recorrido = mapasPedidos(mapasPorEstado, estados);
+                candidatos = contarPedidos(tareasPorEstado, estados);
+            }
+            if (porPrioridad && contarPedidos(tareasPorPrioridad, prioridades) < candidatos) {
+                recorrido = mapasPedidos(mapasPorPrioridad, prioridades);
+                candidatos = contarPedidos(tareasPorPrioridad, prioridades);
+            }
+            if (porFecha) {
+                int inicio = indicePorFecha.inicio(filtro.claveDesde);
+                int fin = indicePorFecha.fin(filtro.claveHasta);
+                if (fin - inicio < candidatos) {
+                    return paginaPorFecha(filtro, inicio, fin, primerBit, limite);
+                }
+            }
+            Lista<Tarea> pagina = new Lista<>();
+            boolean hayMas = false;
+            if (recorrido != null) {
+                UnionDeMapas union = new UnionDeMapas(recorrido, primerBit);
+                for (int bit = union.actual(); bit >= 0; bit = union.avanzar()) {
+                    Tarea tarea = indicePorId.obtener(bit);
+                    if (filtro.cumple(tarea)) {
+                        if (pagina.tamanio() == limite) {
+                            hayMas = true;
+                            break;
+                        }
+                        pagina.agregar(tarea);
+                    }
+                }
+            } else {
+                for (int i = posicionDespuesDe(despuesDe); i < tareas.tamanio(); i++) {
+                    Tarea tarea = tareas.obtener(i);
+                    if (filtro.cumple(tarea)) {
+                        if (pagina.tamanio() == limite) {
+                            hayMas = true;
+                            break;
+                        }
+                        pagina.agregar(tarea);
+                    }
+                }
+            }
+            return new Pagina<>(pagina, cursorSiguiente(pagina, hayMas));
+        });
+    }
+
+    // Filtros de una consulta, para revisarlos tarea por tarea
+    private static final class FiltroTareas {
+        private final boolean[] estados;
+        private final boolean[] prioridades;
+        private final long claveDesde;
+        private final long claveHasta;
+
+        private FiltroTareas(Tarea.Estado[] estados, Tarea.Prioridad[] prioridades, long claveDesde, long claveHasta) {
+            this.estados = marcados(estados, Tarea.Estado.values().length);
+            this.prioridades = marcados(prioridades, Tarea.Prioridad.values().length);
+            this.claveDesde = claveDesde;
+            this.claveHasta = claveHasta;
+        }
+
+        private boolean cumple(Tarea tarea) {
+            if (estados != null && !estados[tarea.getEstado().ordinal()]) {
+                return false;
+            }
+            if (prioridades != null && !prioridades[tarea.getPrioridad().ordinal()]) {
+                return false;
+            }
+            long clave = claveFecha(tarea.getFechaCreacion());
+            return clave >= claveDesde && clave <= claveHasta;
+        }
+
+        // Valores pedidos por ordinal, o null si el filtro no restringe
+        private static boolean[] marcados(Enum<?>[] valores, int cantidad) {
+            if (valores == null || valores.length == 0) {
+                return null;
+            }
+            boolean[] marcados = new boolean[cantidad];
+            for (Enum<?> valor : valores) {
+                marcados[valor.ordinal()] = true;
+            }
+            return marcados;
+        }
+    }
+
+    // Página a partir del tramo [inicio, fin) del índice por fecha: se revisan los filtros de esas
+    // tareas y las que quedan después del cursor se ordenan por ID (requiere el bloqueo de lectura)
+    private Pagina<Tarea> paginaPorFecha(FiltroTareas filtro, int inicio, int fin, int primerBit, int limite) {
+        long[] ids = new long[fin - inicio];
+        int encontradas = 0;
+        for (int i = inicio; i < fin; i++) {
+            long id = indicePorFecha.id(i);
+            if (id >= primerBit && filtro.cumple(indicePorId.obtener(id))) {
+                ids[encontradas++] = id;
+            }
+        }
+        Arrays.sort(ids, 0, encontradas);
+        int total = Math.min(limite, encontradas);
+        Lista<Tarea> pagina = new Lista<>(Math.max(1, total));
+        for (int i = 0; i < total; i++) {
+            pagina.agregar(indicePorId.obtener(ids[i]));
+        }
+        return new Pagina<>(pagina, cursorSiguiente(pagina, encontradas > limite));
+    }
+
+    // Suma de los contadores de los valores pedidos (sin repetir valores)
+    private static long contarPedidos(int[] contadores, Enum<?>[] valores) {
+        boolean[] vistos = new boolean[contadores.length];
+        long total = 0;
+        for (Enum<?> valor : valores) {
+            if (!vistos[valor.ordinal()]) {
+                vistos[valor.ordinal()] = true;
+                total += contadores[valor.ordinal()];
+            }
+        }
+        return total;
+    }
+
+    // Mapas de los valores pedidos
+    private static MapaBits[] mapasPedidos(MapaBits[] mapas, Enum<?>[] valores) {
+        MapaBits[] pedidos = new MapaBits[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            pedidos[i] = mapas[valores[i].ordinal()];
+        }
+        return pedidos;
+    }
+
+    // Recorrido en orden de la unión de varios mapas sin armarla: guarda el siguiente bit de cada
+    // mapa y solo avanza los que quedaron atrás, así un mapa disperso no se vuelve a explorar en cada paso
+    private static final class UnionDeMapas {
+        private final MapaBits[] mapas;
+        private final int[] siguientes;
+        private int actual;
+
+        private UnionDeMapas(MapaBits[] mapas, int desde) {
+            this.mapas = mapas;
+            this.siguientes = new int[mapas.length];
+            for (int i = 0; i < mapas.length; i++) {
+                siguientes[i] = mapas[i].siguiente(desde);
+            }
+            this.actual = menor();
+        }
+
+        // Retorna el bit actual, o -1 si se terminó
+        private int actual() {
+            return actual;
+        }
+
+        // Avanza al siguiente bit encendido en algún mapa
+        // Retorna: El nuevo bit actual, o -1 si se terminó
+        private int avanzar() {
+            for (int i = 0; i < mapas.length; i++) {
+                if (siguientes[i] == actual) {
+                    siguientes[i] = actual == Integer.MAX_VALUE ? -1 : mapas[i].siguiente(actual + 1);
+                }
+            }
+            actual = menor();
+            return actual;
+        }
+
+        private int menor() {
+            int menor = -1;
+            for (int bit : siguientes) {
+                if (bit >= 0 && (menor < 0 || bit < menor)) {
+                    menor = bit;
+                }
+            }
+            return menor;
+        }
     }
 
     // Actualiza una tarea existente
     public Tarea actualizarTarea(Long id, String titulo, String descripcion, Tarea.Prioridad prioridad, Tarea.Estado estado) {
-        Tarea tarea = buscarTareaPorId(id);
-        if (tarea != null) {
-            Tarea.Prioridad prioridadAnterior = tarea.getPrioridad();
-            tarea.setTitulo(titulo);
-            tarea.setDescripcion(descripcion);
-            tarea.setPrioridad(prioridad);
-            tarea.setEstado(estado);
-            
-            if (!prioridadAnterior.equals(prioridad)) {
-                arbolPorPrioridad.eliminar(tarea);
-                arbolPorPrioridad.insertar(tarea);
+        return escritura(() -> {
+            Tarea tarea = buscarInterno(id);
+            if (tarea != null) {
+                CambioTarea cambio = CambioTarea.deActualizacion(tarea, titulo, descripcion, prioridad, estado);
+                aplicarCambios(tarea, titulo, descripcion, prioridad, estado);
+                historialAcciones.push(new Accion(Accion.Tipo.ACTUALIZAR, tarea, cambio));
+                registrarCambio(EventoCambio.Tipo.ACTUALIZAR, id, true, true, true);
+                return tarea;
             }
-            
-            historialAcciones.push(new Accion("ACTUALIZAR", "Tarea actualizada: " + titulo));
-            return tarea;
-        }
-        return null;
+            return null;
+        });
     }
 
     // Marca una tarea como completada y la elimina automáticamente
+    // Se registra una sola acción COMPLETAR, que ya implica la eliminación
     public Tarea completarTarea(Long id) {
-        Tarea tarea = buscarTareaPorId(id);
-        if (tarea != null) {
-            String tituloTarea = tarea.getTitulo();
-            tarea.setEstado(Tarea.Estado.COMPLETADA);
-            historialAcciones.push(new Accion("COMPLETAR", "Tarea completada: " + tituloTarea));
-            
-            eliminarTarea(id);
-            historialAcciones.push(new Accion("ELIMINAR", "Tarea completada eliminada automáticamente: " + tituloTarea));
-            
-            return tarea;
-        }
-        return null;
+        return escritura(() -> {
+            Tarea tarea = buscarInterno(id);
+            if (tarea != null) {
+                Tarea.Estado estadoAnterior = tarea.getEstado();
+                // Se retira antes de cambiar el estado para descontarla del estado que tenía
+                EntradaCola lugarEnCola = quitarDeEstructuras(tarea);
+                tarea.setEstado(Tarea.Estado.COMPLETADA);
+                historialAcciones.push(new Accion(Accion.Tipo.COMPLETAR, tarea,
+                        CambioTarea.deEliminacion(tarea, estadoAnterior, lugarEnCola)));
+                registrarCambio(EventoCambio.Tipo.COMPLETAR, id, true, lugarEnCola != null, true);
+
+                return tarea;
+            }
+            return null;
+        });
     }
 
     // ========== OPERACIONES CON PILA (HISTORIAL) ==========
 
-    // Obtiene el historial completo de acciones (sin modificar la pila)
+    // Obtiene el historial completo de acciones (copia de la pila, sin modificarla)
     public Lista<Accion> obtenerHistorial() {
-        return historialAcciones.obtenerTodos();
+        return lecturaOptimista(historialAcciones::obtenerTodos);
+    }
+
+    // Obtiene una página del historial, de la acción más reciente a la más antigua.
+    // El cursor es la posición absoluta de la última acción entregada; las acciones desalojadas a
+    // disco conservan esa posición (es su número en el archivo), así que al terminar las de memoria
+    // la paginación continúa en el archivo.
+    // Parámetros: antesDe - Posición de la última acción entregada (null para empezar por la más
+    //             reciente), limite - Número máximo de acciones
+    public Pagina<Accion> obtenerPaginaDeHistorial(Long antesDe, int limite) {
+        long hasta = antesDe == null ? Long.MAX_VALUE : antesDe;
+        Pagina<Accion> enMemoria = lecturaOptimista(() -> {
+            long base = historialAcciones.posicionBase();
+            if (hasta <= base) {
+                return null;
+            }
+            Lista<Accion> pagina = historialAcciones.obtenerAnteriores(hasta, limite);
+            long ultima = Math.min(hasta, base + historialAcciones.tamanio()) - pagina.tamanio();
+            return new Pagina<>(pagina, ultima > 0 ? ultima : null);
+        });
+        if (enMemoria != null) {
+            return enMemoria;
+        }
+        long finArchivo = Math.min(hasta, obtenerTamanioHistorialArchivado());
+        long desde = Math.max(0, finArchivo - limite);
+        Lista<Accion> archivadas = obtenerHistorialArchivado(desde, (int) (finArchivo - desde));
+        Lista<Accion> pagina = new Lista<>(Math.max(1, archivadas.tamanio()));
+        for (int i = archivadas.tamanio() - 1; i >= 0; i--) {
+            pagina.agregar(archivadas.obtener(i));
+        }
+        return new Pagina<>(pagina, desde > 0 ? desde : null);
     }
 
     // Obtiene la última acción realizada (sin eliminarla)
     public Accion obtenerUltimaAccion() {
-        return historialAcciones.peek();
+        return lecturaOptimista(historialAcciones::peek);
     }
 
-    // Deshace la última acción (elimina y retorna el último elemento de la pila)
+    // Deshace la última acción: la saca de la pila y aplica su cambio inverso
+    // - CREAR: retira la tarea creada
+    // - ACTUALIZAR: devuelve los campos modificados a sus valores anteriores
+    // - ELIMINAR / COMPLETAR: restaura la tarea (y su estado anterior) en la lista, el árbol y la cola
+    // Solo se deshacen las acciones que siguen en memoria (no las archivadas en disco)
+    // Retorna: La acción deshecha, o null si el historial está vacío
     public Accion deshacerUltimaAccion() {
-        return historialAcciones.pop();
+        return escritura(() -> {
+            Accion accion = historialAcciones.pop();
+            if (accion != null) {
+                revertir(accion);
+                registrarCambio(EventoCambio.Tipo.DESHACER, accion.getTareaId(), true, true, true);
+            }
+            return accion;
+        });
+    }
+
+    // Aplica el cambio inverso de una acción (requiere el bloqueo de escritura)
+    private void revertir(Accion accion) {
+        CambioTarea cambio = accion.getCambio();
+        switch (accion.getTipo()) {
+            case CREAR -> {
+                Tarea creada = buscarInterno(accion.getTareaId());
+                if (creada != null) {
+                    quitarDeEstructuras(creada);
+                }
+            }
+            case ACTUALIZAR -> {
+                Tarea tarea = buscarInterno(accion.getTareaId());
+                if (tarea != null && cambio != null) {
+                    aplicarCambios(tarea, cambio.getTituloAnterior(), cambio.getDescripcionAnterior(),
+                            cambio.getPrioridadAnterior(), cambio.getEstadoAnterior());
+                }
+            }
+            case ELIMINAR, COMPLETAR -> {
+                if (cambio != null && buscarInterno(accion.getTareaId()) == null) {
+                    Tarea tarea = cambio.getTareaRetirada();
+                    tarea.setEstado(cambio.getEstadoAnterior());
+                    restaurarEnEstructuras(tarea, cambio.getLugarEnCola());
+                }
+            }
+        }
     }
 
-    // Obtiene el tamaño del historial
+    // Obtiene el tamaño del historial en memoria
     public int obtenerTamanioHistorial() {
-        return historialAcciones.tamanio();
+        return lecturaOptimista(historialAcciones::tamanio);
+    }
+
+    // Obtiene una página de las acciones desalojadas a disco, de la más antigua a la más reciente
+    // No toma el bloqueo del servicio: el archivo se sincroniza por sí mismo
+    // Parámetros: desde - Número de la primera acción archivada (desde 0), limite - Máximo de acciones
+    public Lista<Accion> obtenerHistorialArchivado(long desde, int limite) {
+        if (archivoHistorial == null) {
+            return new Lista<>();
+        }
+        return archivoHistorial.leer(desde, limite);
+    }
+
+    // Obtiene el número de acciones desalojadas a disco
+    public long obtenerTamanioHistorialArchivado() {
+        return archivoHistorial == null ? 0 : archivoHistorial.tamanio();
+    }
+
+    // Al detener la aplicación espera al escritor del historial y borra su carpeta privada
+    @PreDestroy
+    public void cerrarHistorial() {
+        if (archivoHistorial != null) {
+            archivoHistorial.eliminar();
+        }
     }
 
     // ========== OPERACIONES CON COLA (TAREAS PENDIENTES) ==========
 
     // Procesa la siguiente tarea pendiente (FIFO - primera en entrar, primera en salir)
+    // La cola admite consumidores concurrentes: basta el bloqueo de lectura para excluir a quien la amplía
+    // (el aviso PROCESAR se ordena con los demás en registrarCambio)
+    // Las entradas de tareas eliminadas o completadas se descartan al desencolarlas
     public Tarea procesarSiguienteTarea() {
-        return colaTareasPendientes.desencolar();
+        return lectura(() -> {
+            EntradaCola entrada;
+            while ((entrada = colaTareasPendientes.sondear()) != null) {
+                entrada.marcarConsumida();
+                if (!entrada.isMuerta()) {
+                    // Sigue en el mapa de entradas hasta la próxima purga
+                    consumidasEnMapa.incrementAndGet();
+                    registrarCambio(EventoCambio.Tipo.PROCESAR, entrada.getTarea().getId(), false, true, false);
+                    return entrada.getTarea();
+                }
+                muertasEnCola.decrementAndGet();
+            }
+            return null;
+        });
     }
 
     // Obtiene la siguiente tarea a procesar sin eliminarla
     public Tarea verSiguienteTarea() {
-        return colaTareasPendientes.frente();
+        return lecturaOptimista(() -> {
+            EntradaCola entrada = colaTareasPendientes.buscarPrimero(viva -> !viva.isMuerta());
+            return entrada == null ? null : entrada.getTarea();
+        });
     }
 
-    // Obtiene todas las tareas pendientes en la cola (sin modificar la cola)
+    // Obtiene todas las tareas pendientes en la cola (copia de la cola sin las entradas muertas)
     public Lista<Tarea> obtenerTareasEnCola() {
-        return colaTareasPendientes.obtenerTodos();
+        return lecturaOptimista(() -> colaTareasPendientes.obtenerTodos(entrada -> entrada.isMuerta() ? null : entrada.getTarea()));
+    }
+
+    // Obtiene una página de las tareas pendientes en la cola, desde el frente
+    // La cola se salta hasta el cursor por búsqueda binaria sobre la secuencia de las entradas
+    // Parámetros: despuesDe - Secuencia de la última entrada entregada (null para empezar por el
+    //             frente), limite - Número máximo de tareas
+    public Pagina<Tarea> obtenerPaginaDeCola(Long despuesDe, int limite) {
+        return lecturaOptimista(() -> {
+            // Se pide una entrada de más para saber si hay otra página
+            Lista<EntradaCola> entradas = colaTareasPendientes.obtenerPagina(
+                    entrada -> despuesDe != null && entrada.getSecuencia() <= despuesDe, limite + 1,
+                    entrada -> entrada.isMuerta() ? null : entrada);
+            int total = Math.min(limite, entradas.tamanio());
+            Lista<Tarea> pagina = new Lista<>(Math.max(1, total));
+            for (int i = 0; i < total; i++) {
+                pagina.agregar(entradas.obtener(i).getTarea());
+            }
+            Long siguiente = entradas.tamanio() > limite ? entradas.obtener(total - 1).getSecuencia() : null;
+            return new Pagina<>(pagina, siguiente);
+        });
     }
 
-    // Obtiene el tamaño de la cola
+    // Obtiene el tamaño de la cola (solo tareas vivas)
     public int obtenerTamanioCola() {
-        return colaTareasPendientes.tamanio();
+        return lecturaOptimista(this::tamanioColaVivas);
+    }
+
+    private int tamanioColaVivas() {
+        return Math.max(0, colaTareasPendientes.tamanio() - muertasEnCola.get());
     }
 
-    // Obtiene estadísticas del sistema
+    // Obtiene estadísticas del sistema como texto
+    // Los conteos vienen de contadores incrementales: O(1), sin recorrer la lista
     public String obtenerEstadisticas() {
-        int pendientes = 0;
-        int enProgreso = 0;
-        int completadas = 0;
-        
-        for (int i = 0; i < tareas.tamanio(); i++) {
-            Tarea tarea = tareas.obtener(i);
-            if (tarea.getEstado() == Tarea.Estado.PENDIENTE) {
-                pendientes++;
-            } else if (tarea.getEstado() == Tarea.Estado.EN_PROGRESO) {
-                enProgreso++;
-            } else if (tarea.getEstado() == Tarea.Estado.COMPLETADA) {
-                completadas++;
-            }
-        }
-        
-        return String.format("Total: %d | Pendientes: %d | En Progreso: %d | Completadas: %d | En Cola: %d | Historial: %d | Árbol: %d",
-                tareas.tamanio(), pendientes, enProgreso, completadas, 
-                colaTareasPendientes.tamanio(), historialAcciones.tamanio(), arbolPorPrioridad.tamanio());
+        return obtenerEstadisticasDetalladas().toString();
+    }
+
+    // Obtiene estadísticas del sistema en formato estructurado (O(1))
+    public Estadisticas obtenerEstadisticasDetalladas() {
+        return lecturaOptimista(this::calcularEstadisticas);
+    }
+
+    private Estadisticas calcularEstadisticas() {
+        return new Estadisticas(tareas.tamanio(),
+                tareasPorEstado[Tarea.Estado.PENDIENTE.ordinal()],
+                tareasPorEstado[Tarea.Estado.EN_PROGRESO.ordinal()],
+                tareasPorEstado[Tarea.Estado.COMPLETADA.ordinal()],
+                tareasPorPrioridad[Tarea.Prioridad.ALTA.ordinal()],
+                tareasPorPrioridad[Tarea.Prioridad.MEDIA.ordinal()],
+                tareasPorPrioridad[Tarea.Prioridad.BAJA.ordinal()],
+                tamanioColaVivas(), historialAcciones.tamanio(), obtenerTamanioHistorialArchivado(),
+                arbolPorPrioridad.tamanio());
+    }
+
+    // Obtiene en una sola lectura todo lo que muestra el dashboard
+    // Parámetros: urgentes - Número de tareas más urgentes, recientes - Número de acciones recientes
+    public ResumenDashboard obtenerResumenDashboard(int urgentes, int recientes) {
+        return lectura(() -> {
+            EntradaCola siguiente = colaTareasPendientes.buscarPrimero(entrada -> !entrada.isMuerta());
+            return new ResumenDashboard(arbolPorPrioridad.obtenerMasUrgentes(urgentes), calcularEstadisticas(),
+                    siguiente == null ? null : siguiente.getTarea(), historialAcciones.obtenerUltimos(recientes));
+        });
     }
 
     // ========== OPERACIONES CON ÁRBOL BINARIO ==========
 
     // Obtiene las tareas del árbol en orden inorden
-    // Retorna: Lista de tareas ordenadas por prioridad (inorden)
-    public Lista<Tarea> obtenerTareasInorden() {
-        return arbolPorPrioridad.recorrerInorden();
+    // Parámetros: desdeId - ID de la última tarea ya entregada (null para empezar desde el inicio),
+    //             limite - Número máximo de tareas (null para todas)
+    // Retorna: Página de tareas ordenadas por prioridad (inorden), o null si la tarea de referencia no existe
+    public Pagina<Tarea> obtenerTareasInorden(Long desdeId, Integer limite) {
+        return lectura(() -> {
+            if (desdeId == null) {
+                return paginar(arbolPorPrioridad.iteradorInorden(), limite);
+            }
+            Tarea desde = buscarInterno(desdeId);
+            return desde == null ? null : paginar(arbolPorPrioridad.iteradorInorden(desde), limite);
+        });
     }
 
     // Obtiene las tareas del árbol en orden preorden
-    // Retorna: Lista de tareas ordenadas por prioridad (preorden)
-    public Lista<Tarea> obtenerTareasPreorden() {
-        return arbolPorPrioridad.recorrerPreorden();
+    // Parámetros: desdeId - ID de la última tarea ya entregada (null para empezar desde la raíz),
+    //             limite - Número máximo de tareas (null para todas)
+    // Retorna: Página de tareas en preorden, o null si la tarea de referencia no existe
+    public Pagina<Tarea> obtenerTareasPreorden(Long desdeId, Integer limite) {
+        return lectura(() -> {
+            if (desdeId == null) {
+                return paginar(arbolPorPrioridad.iteradorPreorden(), limite);
+            }
+            Tarea desde = buscarInterno(desdeId);
+            return desde == null ? null : paginar(arbolPorPrioridad.iteradorPreorden(desde), limite);
+        });
     }
 
     // Obtiene las tareas del árbol en orden postorden
-    // Retorna: Lista de tareas ordenadas por prioridad (postorden)
-    public Lista<Tarea> obtenerTareasPostorden() {
-        return arbolPorPrioridad.recorrerPostorden();
+    // Parámetros: desdeId - ID de la última tarea ya entregada (null para empezar desde el inicio),
+    //             limite - Número máximo de tareas (null para todas)
+    // Retorna: Página de tareas en postorden, o null si la tarea de referencia no existe
+    public Pagina<Tarea> obtenerTareasPostorden(Long desdeId, Integer limite) {
+        return lectura(() -> {
+            if (desdeId == null) {
+                return paginar(arbolPorPrioridad.iteradorPostorden(), limite);
+            }
+            Tarea desde = buscarInterno(desdeId);
+            return desde == null ? null : paginar(arbolPorPrioridad.iteradorPostorden(desde), limite);
+        });
+    }
+
+    // Consume hasta "limite" tareas de un cursor (o null si el cursor no existe)
+    // La página lleva como siguiente cursor el ID de su última tarea si el recorrido no terminó
+    private Pagina<Tarea> paginar(Iterator<Tarea> cursor, Integer limite) {
+        if (cursor == null) {
+            return null;
+        }
+        int maximo = arbolPorPrioridad.tamanio();
+        if (limite != null && limite >= 0 && limite < maximo) {
+            maximo = limite;
+        }
+        Lista<Tarea> pagina = new Lista<>(Math.max(maximo, 1));
+        while (pagina.tamanio() < maximo && cursor.hasNext()) {
+            pagina.agregar(cursor.next());
+        }
+        return new Pagina<>(pagina, cursorSiguiente(pagina, cursor.hasNext()));
     }
 
     // Obtiene todas las tareas del árbol
     // Retorna: Lista con todas las tareas del árbol
     public Lista<Tarea> obtenerTodasLasTareasDelArbol() {
-        return arbolPorPrioridad.obtenerTodas();
+        return lectura(arbolPorPrioridad::obtenerTodas);
     }
-}
 
+    // Obtiene el número de tareas en el árbol
+    public int obtenerTamanioArbol() {
+        return lecturaOptimista(arbolPorPrioridad::tamanio);
+    }
+
+    // Obtiene las K tareas de mayor prioridad (las más antiguas primero dentro de cada prioridad)
+    // Parámetro: k - Número máximo de tareas
+    public Lista<Tarea> obtenerTareasMasUrgentes(int k) {
+        return lectura(() -> arbolPorPrioridad.obtenerMasUrgentes(k));
+    }
+
+    // Obtiene la tarea en una posición del orden por prioridad
+    // Parámetro: posicion - Posición desde 0 en el recorrido inorden
+    // Retorna: La tarea, o null si la posición está fuera de rango
+    public Tarea seleccionarTareaPorPosicion(int posicion) {
+        return lectura(() -> arbolPorPrioridad.seleccionar(posicion));
+    }
+
+    // Obtiene la posición de una tarea en el orden por prioridad
+    // Parámetro: id - ID de la tarea
+    // Retorna: Posición desde 0, o -1 si la tarea no existe
+    public int obtenerPosicionTarea(Long id) {
+        return lectura(() -> {
+            Tarea tarea = buscarInterno(id);
+            return tarea == null ? -1 : arbolPorPrioridad.rango(tarea);
+        });
+    }
+
+    // Obtiene un segmento del orden por prioridad
+    // Parámetros: desde - Primera posición (incluida), hasta - Última posición (excluida)
+    public Lista<Tarea> obtenerSegmentoArbol(int desde, int hasta) {
+        return lectura(() -> arbolPorPrioridad.obtenerSegmento(desde, hasta));
+    }
+
+    // ========== VERSIÓN Y AVISOS DE CAMBIOS ==========
+
+    // Registra un oyente que recibirá un aviso tras cada modificación
+    // Parámetro: oyente - Debe ser rápido y no bloquear: se invoca dentro del bloqueo del servicio
+    public synchronized void agregarOyente(Consumer<EventoCambio> oyente) {
+        Lista<Consumer<EventoCambio>> nuevos = oyentes.copia();
+        nuevos.agregar(oyente);
+        oyentes = nuevos;
+    }
+
+    // Obtiene los cambios de la lista de tareas posteriores a una versión
+    // Si una tarea cambió varias veces, solo cuenta su estado final (creada/modificada o eliminada)
+    // Parámetros: epocaCliente - Época de la respuesta que tiene el cliente (null si no tiene ninguna),
+    //             desde - Última versión que tiene el cliente
+    // Retorna: Cambios, época y versión actuales, o la indicación de resincronizar si la versión es
+    //          de otro arranque del servidor (otra época) o la bitácora ya no la conserva
+    public CambiosDesde obtenerCambiosDesde(String epocaCliente, long desde) {
+        return lectura(() -> {
+            long actual = version.get();
+            // La versión se reinicia en cada arranque: solo se compara con las de la misma época
+            if (!epoca.equals(epocaCliente) || desde > actual || !bitacora.cubre(desde)) {
+                return new CambiosDesde(epoca, actual, true, new Lista<>(), new Lista<>());
+            }
+            Lista<Tarea> actualizadas = new Lista<>();
+            Lista<Long> eliminadas = new Lista<>();
+            TablaHashLong<Boolean> vistas = new TablaHashLong<>();
+            bitacora.recorrerDesde(desde, (tareaId, eliminada) -> {
+                // Se recorre del más reciente al más antiguo: el primero que aparece es el estado final
+                if (vistas.insertar(tareaId, Boolean.TRUE) != null) {
+                    return;
+                }
+                Tarea tarea = eliminada ? null : indicePorId.obtener(tareaId);
+                if (tarea != null) {
+                    actualizadas.agregar(tarea);
+                } else {
+                    eliminadas.agregar(tareaId);
+                }
+            });
+            return new CambiosDesde(epoca, actual, false, actualizadas, eliminadas);
+        });
+    }
+
+    // Obtiene la versión actual de los datos (sin bloquear ni consultar las estructuras)
+    public long obtenerVersion() {
+        return version.get();
+    }
+
+    // Obtiene la época de esta instancia (distinta en cada arranque)
+    public String obtenerEpoca() {
+        return epoca;
+    }
+
+    // Incrementa la versión, anota en la bitácora los cambios sobre la lista de tareas (la tarea
+    // quedó eliminada si ya no está en el índice) y avisa a los oyentes
+    // (se llama dentro del bloqueo de la modificación; los cambios de tareas, con el de escritura)
+    // Los avisos salen en orden estricto de versión
+    private void registrarCambio(EventoCambio.Tipo tipo, Long tareaId, boolean tareas, boolean cola, boolean historial) {
+        synchronized (publicacion) {
+            long nuevaVersion = version.incrementAndGet();
+            if (tareas) {
+                bitacora.registrar(nuevaVersion, tareaId, !indicePorId.contiene(tareaId));
+            }
+            EventoCambio evento = new EventoCambio(nuevaVersion, tipo, tareaId, tareas, cola, historial);
+            for (Consumer<EventoCambio> oyente : oyentes) {
+                oyente.accept(evento);
+            }
+        }
+    }
+
+    // ========== CONTROL DE CONCURRENCIA ==========
+
+    // Ejecuta una consulta acotada sin bloquear; si una escritura concurrente la invalida,
+    // la repite con el bloqueo de lectura
+    private <R> R lecturaOptimista(Supplier<R> consulta) {
+        long marca = cerrojo.tryOptimisticRead();
+        if (marca != 0) {
+            try {
+                R resultado = consulta.get();
+                if (cerrojo.validate(marca)) {
+                    return resultado;
+                }
+            } catch (RuntimeException e) {
+                // Se leyó un estado intermedio de una escritura concurrente: se reintenta bloqueando
+            }
+        }
+        return lectura(consulta);
+    }
+
+    // Ejecuta una consulta con el bloqueo de lectura (compartido entre lectores)
+    private <R> R lectura(Supplier<R> consulta) {
+        long marca = cerrojo.readLock();
+        try {
+            return consulta.get();
+        } finally {
+            cerrojo.unlockRead(marca);
+        }
+    }
+
+    // Ejecuta una modificación con el bloqueo de escritura (exclusivo)
+    private <R> R escritura(Supplier<R> modificacion) {
+        long marca = cerrojo.writeLock();
+        try {
+            return modificacion.get();
+        } finally {
+            cerrojo.unlockWrite(marca);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package mx.edu.utez.gestor_tareas.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import mx.edu.utez.gestor_tareas.util.Cola;
+import mx.edu.utez.gestor_tareas.util.Lista;
+import mx.edu.utez.gestor_tareas.util.Pila;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+// Configuración de Jackson para escribir las estructuras de datos propias como arreglos JSON.
+// Las estructuras se recorren directamente con su iterador, sin copiarlas antes a un Object[].
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Module moduloEstructuras() {
+        SimpleModule modulo = new SimpleModule("EstructurasModule");
+        modulo.addSerializer((Class) Lista.class, new SerializadorIterable(Lista.class));
+        modulo.addSerializer((Class) Pila.class, new SerializadorIterable(Pila.class));
+        modulo.addSerializer((Class) Cola.class, new SerializadorIterable(Cola.class));
+        return modulo;
+    }
+
+    // Escribe cualquier estructura Iterable como un arreglo JSON elemento por elemento
+    static class SerializadorIterable extends StdSerializer<Iterable<?>> {
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        SerializadorIterable(Class<?> tipo) {
+            super((Class) tipo);
+        }
+
+        @Override
+        public void serialize(Iterable<?> estructura, JsonGenerator generador, SerializerProvider proveedor) throws IOException {
+            generador.writeStartArray(estructura);
+            for (Object elemento : estructura) {
+                proveedor.defaultSerializeValue(elemento, generador);
+            }
+            generador.writeEndArray();
+        }
+    }
+}
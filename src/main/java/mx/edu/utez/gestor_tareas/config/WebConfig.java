@@ -3,8 +3,18 @@ package mx.edu.utez.gestor_tareas.config;
 import mx.edu.utez.gestor_tareas.interceptor.AuthInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -18,5 +28,42 @@ public class WebConfig implements WebMvcConfigurer {
                 .addPathPatterns("/**")
                 .excludePathPatterns("/login", "/registro", "/css/**", "/js/**", "/api/login", "/api/registro");
     }
-}
 
+    // El convertidor de cuerpos en flujo va primero: Jackson intentaría serializarlos como objeto
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ConvertidorFlujo());
+    }
+
+    // Escribe los cuerpos StreamingResponseBody directamente en la salida de la respuesta, en el
+    // mismo hilo de la petición. Permite devolverlos dentro de un ResponseEntity<?> (el manejador
+    // asíncrono de Spring solo los reconoce si el tipo declarado es ResponseEntity<StreamingResponseBody>).
+    // Solo escribe: nunca lee cuerpos de petición (no hay forma acotada de convertirlos en un flujo).
+    static class ConvertidorFlujo extends AbstractHttpMessageConverter<StreamingResponseBody> {
+
+        ConvertidorFlujo() {
+            super(MediaType.ALL);
+        }
+
+        @Override
+        protected boolean supports(Class<?> clase) {
+            return StreamingResponseBody.class.isAssignableFrom(clase);
+        }
+
+        @Override
+        public boolean canRead(Class<?> clase, MediaType tipo) {
+            return false;
+        }
+
+        @Override
+        protected StreamingResponseBody readInternal(Class<? extends StreamingResponseBody> clase,
+                                                     HttpInputMessage entrada) {
+            throw new HttpMessageNotReadableException("No se admite StreamingResponseBody como cuerpo de petición", entrada);
+        }
+
+        @Override
+        protected void writeInternal(StreamingResponseBody cuerpo, HttpOutputMessage salida) throws IOException {
+            cuerpo.writeTo(salida.getBody());
+        }
+    }
+}
@@ -1,26 +1,57 @@
 package mx.edu.utez.gestor_tareas.controller;
 
 import mx.edu.utez.gestor_tareas.model.Accion;
+import mx.edu.utez.gestor_tareas.model.CambiosDesde;
+import mx.edu.utez.gestor_tareas.model.Estadisticas;
+import mx.edu.utez.gestor_tareas.model.EstadisticasCache;
+import mx.edu.utez.gestor_tareas.model.Pagina;
+import mx.edu.utez.gestor_tareas.model.ResumenDashboard;
 import mx.edu.utez.gestor_tareas.model.Tarea;
 import mx.edu.utez.gestor_tareas.model.TareaRequest;
+import mx.edu.utez.gestor_tareas.Service.CanalCambios;
 import mx.edu.utez.gestor_tareas.Service.TareaService;
+import mx.edu.utez.gestor_tareas.util.Lista;
 import mx.edu.utez.gestor_tareas.util.RespuestaSimple;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.servlet.http.HttpSession;
 
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Supplier;
+
 // Controlador que maneja las peticiones HTTP para la gestión de tareas.
 // Proporciona endpoints REST y una vista principal.
+// Los endpoints que devuelven colecciones aceptan "limite" y "cursor": sin limite responden el
+// arreglo completo (como siempre); con limite responden una página con su siguienteCursor.
+// Con flujo=true escriben el arreglo completo por bloques directamente en la respuesta
+// (ver TransmisionJson), comprimido con gzip si el cliente lo acepta.
 @Controller
 public class TareaController {
 
+    // Tamaño máximo de página que se acepta en "limite"
+    private static final int MAXIMO_POR_PAGINA = 1000;
+
     @Autowired
     private TareaService tareaService;
 
+    @Autowired
+    private CanalCambios canalCambios;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // Redirige a dashboard
     @GetMapping("/")
     public String index() {
@@ -89,22 +120,41 @@ public class TareaController {
 
     // ========== ENDPOINTS REST PARA LISTA/ARREGLO ==========
 
-    // Obtiene todas las tareas (GET /api/tareas)
+    // Obtiene todas las tareas (GET /api/tareas), o una página ordenada por ID (?limite=&cursor=)
+    // Filtros opcionales con los índices: ?estado=EN_PROGRESO&prioridad=ALTA,MEDIA&desde=2025-01-01T00:00:00
+    // &hasta=... (varios valores separados por coma se unen con OR; filtros distintos, con AND)
     @GetMapping("/api/tareas")
     @ResponseBody
-    public ResponseEntity<Object[]> obtenerTodasLasTareas() {
-        return ResponseEntity.ok(tareaService.obtenerTodasLasTareas().obtenerTodos());
+    public ResponseEntity<?> obtenerTodasLasTareas(@RequestParam(required = false) Tarea.Estado[] estado,
+                                                   @RequestParam(required = false) Tarea.Prioridad[] prioridad,
+                                                   @RequestParam(required = false)
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+                                                   @RequestParam(required = false)
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+                                                   @RequestParam(required = false) Integer limite,
+                                                   @RequestParam(required = false) Long cursor,
+                                                   @RequestParam(defaultValue = "false") boolean flujo,
+                                                   WebRequest peticion) {
+        if (estado == null && prioridad == null && desde == null && hasta == null) {
+            return responderColeccion(peticion, limite, cursor, flujo, tareaService::obtenerTodasLasTareas,
+                    tareaService::obtenerPaginaDeTareas);
+        }
+        return responderColeccion(peticion, limite, cursor, flujo,
+                () -> tareaService.filtrarTareas(estado, prioridad, desde, hasta),
+                (despuesDe, tamanio) -> tareaService.filtrarTareas(estado, prioridad, desde, hasta, despuesDe, tamanio));
     }
 
     // Obtiene una tarea por ID (GET /api/tareas/{id})
     @GetMapping("/api/tareas/{id}")
     @ResponseBody
-    public ResponseEntity<Tarea> obtenerTareaPorId(@PathVariable Long id) {
-        Tarea tarea = tareaService.buscarTareaPorId(id);
-        if (tarea != null) {
-            return ResponseEntity.ok(tarea);
-        }
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<Tarea> obtenerTareaPorId(@PathVariable Long id, WebRequest peticion) {
+        return condicional(peticion, () -> {
+            Tarea tarea = tareaService.buscarTareaPorId(id);
+            if (tarea != null) {
+                return ResponseEntity.ok(tarea);
+            }
+            return ResponseEntity.notFound().build();
+        });
     }
 
     // Crea una nueva tarea (POST /api/tareas)
@@ -160,31 +210,85 @@ public class TareaController {
         return ResponseEntity.notFound().build();
     }
 
-    // Busca tareas por título (GET /api/tareas/buscar?titulo=...)
+    // Busca tareas por palabras del título y la descripción (GET /api/tareas/buscar?titulo=...)
+    // Todas las palabras deben aparecer, completas o como prefijo; opcionalmente por páginas (&limite=&cursor=)
+    // Con &difuso=true también se toleran errores de escritura ("reunoin" encuentra "Reunión")
     @GetMapping("/api/tareas/buscar")
     @ResponseBody
-    public ResponseEntity<Object[]> buscarTareas(@RequestParam String titulo) {
-        return ResponseEntity.ok(tareaService.buscarTareasPorTitulo(titulo).obtenerTodos());
+    public ResponseEntity<?> buscarTareas(@RequestParam String titulo,
+                                          @RequestParam(defaultValue = "false") boolean difuso,
+                                          @RequestParam(required = false) Integer limite,
+                                          @RequestParam(required = false) Long cursor,
+                                          @RequestParam(defaultValue = "false") boolean flujo,
+                                          WebRequest peticion) {
+        return responderColeccion(peticion, limite, cursor, flujo, () -> tareaService.buscarTareas(titulo, difuso),
+                (desde, tamanio) -> tareaService.buscarTareas(titulo, difuso, desde, tamanio));
+    }
+
+    // Sugiere tareas cuyo título empieza con un prefijo, primero las de mayor prioridad
+    // (GET /api/tareas/sugerir?prefijo=...&limite=10, límite máximo 50)
+    @GetMapping("/api/tareas/sugerir")
+    @ResponseBody
+    public ResponseEntity<Lista<Tarea>> sugerirTareas(@RequestParam(defaultValue = "") String prefijo,
+                                                      @RequestParam(defaultValue = "10") int limite,
+                                                      WebRequest peticion) {
+        if (limite < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return condicional(peticion, () -> ResponseEntity.ok(tareaService.sugerirTareas(prefijo, Math.min(limite, 50))));
+    }
+
+    // Obtiene los cambios de tareas posteriores a una versión (GET /api/tareas/cambios?epoca=E&desde=N)
+    // La respuesta trae la época y la versión actuales para la siguiente consulta, o resincronizar = true
+    // si hay que volver a pedir /api/tareas completo (sin época, o con la de otro arranque, siempre)
+    @GetMapping("/api/tareas/cambios")
+    @ResponseBody
+    public ResponseEntity<CambiosDesde> obtenerCambiosDesde(@RequestParam(required = false) String epoca,
+                                                            @RequestParam(defaultValue = "0") long desde,
+                                                            WebRequest peticion) {
+        return condicional(peticion, () -> ResponseEntity.ok(tareaService.obtenerCambiosDesde(epoca, desde)));
     }
 
     // ========== ENDPOINTS PARA PILA (HISTORIAL) ==========
 
     // Obtiene el historial completo de acciones (GET /api/historial)
+    // Por páginas (?limite=&cursor=) se entrega de la acción más reciente a la más antigua y
+    // continúa con las acciones archivadas en disco
     @GetMapping("/api/historial")
     @ResponseBody
-    public ResponseEntity<Object[]> obtenerHistorial() {
-        return ResponseEntity.ok(tareaService.obtenerHistorial().obtenerTodos());
+    public ResponseEntity<?> obtenerHistorial(@RequestParam(required = false) Integer limite,
+                                              @RequestParam(required = false) Long cursor,
+                                              @RequestParam(defaultValue = "false") boolean flujo,
+                                              WebRequest peticion) {
+        return responderColeccion(peticion, limite, cursor, flujo, tareaService::obtenerHistorial,
+                tareaService::obtenerPaginaDeHistorial);
+    }
+
+    // Obtiene una página de las acciones antiguas guardadas en disco
+    // (GET /api/historial/archivo?desde=0&limite=100), de la más antigua a la más reciente
+    @GetMapping("/api/historial/archivo")
+    @ResponseBody
+    public ResponseEntity<Lista<Accion>> obtenerHistorialArchivado(
+            @RequestParam(defaultValue = "0") long desde,
+            @RequestParam(defaultValue = "100") int limite,
+            WebRequest peticion) {
+        if (desde < 0 || limite < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return condicional(peticion, () -> ResponseEntity.ok(tareaService.obtenerHistorialArchivado(desde, Math.min(limite, 1000))));
     }
 
     // Obtiene la última acción (GET /api/historial/ultima)
     @GetMapping("/api/historial/ultima")
     @ResponseBody
-    public ResponseEntity<Accion> obtenerUltimaAccion() {
-        Accion accion = tareaService.obtenerUltimaAccion();
-        if (accion != null) {
-            return ResponseEntity.ok(accion);
-        }
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Accion> obtenerUltimaAccion(WebRequest peticion) {
+        return condicional(peticion, () -> {
+            Accion accion = tareaService.obtenerUltimaAccion();
+            if (accion != null) {
+                return ResponseEntity.ok(accion);
+            }
+            return ResponseEntity.noContent().build();
+        });
     }
 
     // Deshace la última acción (POST /api/historial/deshacer)
@@ -200,11 +304,15 @@ public class TareaController {
 
     // ========== ENDPOINTS PARA COLA (TAREAS PENDIENTES) ==========
 
-    // Obtiene todas las tareas en la cola (GET /api/cola)
+    // Obtiene todas las tareas en la cola (GET /api/cola), o una página desde el frente (?limite=&cursor=)
     @GetMapping("/api/cola")
     @ResponseBody
-    public ResponseEntity<Object[]> obtenerTareasEnCola() {
-        return ResponseEntity.ok(tareaService.obtenerTareasEnCola().obtenerTodos());
+    public ResponseEntity<?> obtenerTareasEnCola(@RequestParam(required = false) Integer limite,
+                                                 @RequestParam(required = false) Long cursor,
+                                                 @RequestParam(defaultValue = "false") boolean flujo,
+                                                 WebRequest peticion) {
+        return responderColeccion(peticion, limite, cursor, flujo, tareaService::obtenerTareasEnCola,
+                tareaService::obtenerPaginaDeCola);
     }
 
     // Procesa la siguiente tarea de la cola (POST /api/cola/procesar)
@@ -221,37 +329,260 @@ public class TareaController {
     // Obtiene estadísticas del sistema (GET /api/estadisticas)
     @GetMapping("/api/estadisticas")
     @ResponseBody
-    public ResponseEntity<RespuestaSimple> obtenerEstadisticas() {
-        RespuestaSimple stats = new RespuestaSimple();
-        stats.setEstadisticas(tareaService.obtenerEstadisticas());
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<RespuestaSimple> obtenerEstadisticas(WebRequest peticion) {
+        return condicional(peticion, () -> {
+            RespuestaSimple stats = new RespuestaSimple();
+            stats.setEstadisticas(tareaService.obtenerEstadisticas());
+            return ResponseEntity.ok(stats);
+        });
+    }
+
+    // Obtiene estadísticas del sistema con un campo por valor (GET /api/estadisticas/detalle)
+    @GetMapping("/api/estadisticas/detalle")
+    @ResponseBody
+    public ResponseEntity<Estadisticas> obtenerEstadisticasDetalladas(WebRequest peticion) {
+        return condicional(peticion, () -> ResponseEntity.ok(tareaService.obtenerEstadisticasDetalladas()));
+    }
+
+    // Obtiene los contadores de la caché de búsquedas (GET /api/estadisticas/cache-busquedas)
+    @GetMapping("/api/estadisticas/cache-busquedas")
+    @ResponseBody
+    public ResponseEntity<EstadisticasCache> obtenerEstadisticasCacheBusquedas() {
+        return ResponseEntity.ok(tareaService.obtenerEstadisticasCacheBusquedas());
+    }
+
+    // Obtiene en una sola petición todo lo que muestra el dashboard (GET /api/dashboard):
+    // tareas más urgentes, estadísticas, siguiente tarea de la cola y acciones recientes
+    @GetMapping("/api/dashboard")
+    @ResponseBody
+    public ResponseEntity<ResumenDashboard> obtenerResumenDashboard(
+            @RequestParam(defaultValue = "5") int urgentes,
+            @RequestParam(defaultValue = "5") int recientes,
+            WebRequest peticion) {
+        return condicional(peticion, () -> ResponseEntity.ok(
+                tareaService.obtenerResumenDashboard(Math.min(urgentes, 100), Math.min(recientes, 100))));
+    }
+
+    // Suscripción a los avisos de cambio mediante Server-Sent Events (GET /api/eventos)
+    // Eventos: "cambio" (qué vistas recargar) y "resincronizar" (recargar todo)
+    @GetMapping(value = "/api/eventos", produces = "text/event-stream")
+    @ResponseBody
+    public SseEmitter suscribirEventos() {
+        return canalCambios.suscribir();
     }
 
     // ========== ENDPOINTS PARA ÁRBOL BINARIO ==========
 
     // Obtiene las tareas del árbol en orden inorden (GET /api/arbol/inorden)
+    // Parámetros opcionales: cursor - ID de la última tarea recibida ("desde" se acepta por
+    // compatibilidad), limite - Tamaño de página (con él, la respuesta trae siguienteCursor)
+    // 404 si la tarea del cursor no existe
     @GetMapping("/api/arbol/inorden")
     @ResponseBody
-    public ResponseEntity<Object[]> obtenerArbolInorden() {
-        return ResponseEntity.ok(tareaService.obtenerTareasInorden().obtenerTodos());
+    public ResponseEntity<?> obtenerArbolInorden(@RequestParam(required = false) Long desde,
+                                                 @RequestParam(required = false) Long cursor,
+                                                 @RequestParam(required = false) Integer limite,
+                                                 @RequestParam(defaultValue = "false") boolean flujo,
+                                                 WebRequest peticion) {
+        Long inicio = cursor != null ? cursor : desde;
+        return responderColeccion(peticion, limite, inicio, flujo,
+                () -> elementos(tareaService.obtenerTareasInorden(inicio, null)),
+                tareaService::obtenerTareasInorden);
     }
 
     @GetMapping("/api/arbol/preorden")
     @ResponseBody
-    public ResponseEntity<Object[]> obtenerArbolPreorden() {
-        return ResponseEntity.ok(tareaService.obtenerTareasPreorden().obtenerTodos());
+    public ResponseEntity<?> obtenerArbolPreorden(@RequestParam(required = false) Long desde,
+                                                  @RequestParam(required = false) Long cursor,
+                                                  @RequestParam(required = false) Integer limite,
+                                                  @RequestParam(defaultValue = "false") boolean flujo,
+                                                  WebRequest peticion) {
+        Long inicio = cursor != null ? cursor : desde;
+        return responderColeccion(peticion, limite, inicio, flujo,
+                () -> elementos(tareaService.obtenerTareasPreorden(inicio, null)),
+                tareaService::obtenerTareasPreorden);
     }
 
     @GetMapping("/api/arbol/postorden")
     @ResponseBody
-    public ResponseEntity<Object[]> obtenerArbolPostorden() {
-        return ResponseEntity.ok(tareaService.obtenerTareasPostorden().obtenerTodos());
+    public ResponseEntity<?> obtenerArbolPostorden(@RequestParam(required = false) Long desde,
+                                                   @RequestParam(required = false) Long cursor,
+                                                   @RequestParam(required = false) Integer limite,
+                                                   @RequestParam(defaultValue = "false") boolean flujo,
+                                                   WebRequest peticion) {
+        Long inicio = cursor != null ? cursor : desde;
+        return responderColeccion(peticion, limite, inicio, flujo,
+                () -> elementos(tareaService.obtenerTareasPostorden(inicio, null)),
+                tareaService::obtenerTareasPostorden);
+    }
+
+    // Obtiene las K tareas de mayor prioridad (GET /api/arbol/top?k=..., máximo 100)
+    @GetMapping("/api/arbol/top")
+    @ResponseBody
+    public ResponseEntity<Lista<Tarea>> obtenerTareasMasUrgentes(@RequestParam(defaultValue = "5") int k, WebRequest peticion) {
+        return condicional(peticion, () -> ResponseEntity.ok(tareaService.obtenerTareasMasUrgentes(Math.min(k, 100))));
+    }
+
+    // Obtiene la tarea en una posición del orden por prioridad (GET /api/arbol/posicion/{posicion})
+    @GetMapping("/api/arbol/posicion/{posicion}")
+    @ResponseBody
+    public ResponseEntity<Tarea> obtenerTareaPorPosicion(@PathVariable int posicion, WebRequest peticion) {
+        return condicional(peticion, () -> {
+            Tarea tarea = tareaService.seleccionarTareaPorPosicion(posicion);
+            if (tarea != null) {
+                return ResponseEntity.ok(tarea);
+            }
+            return ResponseEntity.notFound().build();
+        });
+    }
+
+    // Obtiene la posición de una tarea en el orden por prioridad (GET /api/arbol/rango/{id})
+    @GetMapping("/api/arbol/rango/{id}")
+    @ResponseBody
+    public ResponseEntity<Integer> obtenerPosicionTarea(@PathVariable Long id, WebRequest peticion) {
+        return condicional(peticion, () -> {
+            int posicion = tareaService.obtenerPosicionTarea(id);
+            if (posicion >= 0) {
+                return ResponseEntity.<Integer>ok(posicion);
+            }
+            return ResponseEntity.<Integer>notFound().build();
+        });
+    }
+
+    // Obtiene las tareas entre dos posiciones del orden por prioridad (GET /api/arbol/segmento?desde=&hasta=)
+    // El segmento se acota a MAXIMO_POR_PAGINA tareas; posiciones negativas o invertidas dan 400
+    @GetMapping("/api/arbol/segmento")
+    @ResponseBody
+    public ResponseEntity<Lista<Tarea>> obtenerSegmentoArbol(@RequestParam int desde, @RequestParam int hasta,
+                                                         WebRequest peticion) {
+        if (desde < 0 || desde > hasta) {
+            return ResponseEntity.badRequest().build();
+        }
+        int fin = hasta - desde > MAXIMO_POR_PAGINA ? desde + MAXIMO_POR_PAGINA : hasta;
+        return condicional(peticion, () -> ResponseEntity.ok(tareaService.obtenerSegmentoArbol(desde, fin)));
     }
 
     @GetMapping("/api/arbol/tareas")
     @ResponseBody
-    public ResponseEntity<Object[]> obtenerTodasLasTareasDelArbol() {
-        return ResponseEntity.ok(tareaService.obtenerTodasLasTareasDelArbol().obtenerTodos());
+    public ResponseEntity<Lista<Tarea>> obtenerTodasLasTareasDelArbol(WebRequest peticion) {
+        return condicional(peticion, () -> ResponseEntity.ok(tareaService.obtenerTodasLasTareasDelArbol()));
     }
-}
 
+    // Responde con la colección completa si no se pide "limite", con una página y su siguienteCursor,
+    // o, con flujo, con la colección desde el cursor escrita por bloques.
+    // 400 si el límite no es positivo; 404 si la consulta retorna null (cursor inexistente)
+    // Parámetros: completa - Consulta de la colección completa, paginador - Consulta de una página
+    private <T> ResponseEntity<?> responderColeccion(WebRequest peticion, Integer limite, Long cursor, boolean flujo,
+                                                     Supplier<?> completa, TransmisionJson.Paginador<T> paginador) {
+        if (limite != null && limite < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (flujo) {
+            // El cuerpo cambia con la codificación: cada una lleva su propia ETag
+            boolean gzip = aceptaGzip(peticion.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            return condicional(peticion, gzip ? "gzip" : "identity", () -> transmitir(cursor, paginador, gzip));
+        }
+        return condicional(peticion, () -> {
+            Object cuerpo = limite == null
+                    ? completa.get()
+                    : paginador.pagina(cursor, Math.min(limite, MAXIMO_POR_PAGINA));
+            if (cuerpo == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(cuerpo);
+        });
+    }
+
+    // Respuesta en flujo: el primer bloque se consulta aquí para poder responder 404 antes de escribir
+    private <T> ResponseEntity<Object> transmitir(Long cursor, TransmisionJson.Paginador<T> paginador, boolean gzip) {
+        Pagina<T> primero = paginador.pagina(cursor, TransmisionJson.TAMANIO_BLOQUE);
+        if (primero == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return respuesta.body(TransmisionJson.cuerpo(objectMapper, primero, paginador, gzip));
+    }
+
+    // Indica si Accept-Encoding admite gzip: "gzip" (o "x-gzip") con q > 0, o "*" con q > 0 si gzip
+    // no aparece por nombre. "gzip;q=0" lo rechaza expresamente
+    // Parámetro: encabezado - Valor de Accept-Encoding (null si no se envió)
+    static boolean aceptaGzip(String encabezado) {
+        if (encabezado == null) {
+            return false;
+        }
+        double calidadGzip = -1;
+        double calidadComodin = -1;
+        for (String opcion : encabezado.split(",")) {
+            String[] partes = opcion.split(";");
+            String codificacion = partes[0].trim().toLowerCase(Locale.ROOT);
+            double calidad = 1;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.length() > 2 && parametro.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        calidad = Double.parseDouble(parametro.substring(2));
+                    } catch (NumberFormatException e) {
+                        // Un peso ilegible no cuenta como aceptación
+                        calidad = 0;
+                    }
+                }
+            }
+            if (codificacion.equals("gzip") || codificacion.equals("x-gzip")) {
+                calidadGzip = Math.max(calidadGzip, calidad);
+            } else if (codificacion.equals("*")) {
+                calidadComodin = Math.max(calidadComodin, calidad);
+            }
+        }
+        return (calidadGzip >= 0 ? calidadGzip : calidadComodin) > 0;
+    }
+
+    // ETag de la versión actual; con variante (la codificación del cuerpo) se le agrega como sufijo
+    private String etiqueta(String variante) {
+        String etiqueta = tareaService.obtenerEpoca() + "-" + tareaService.obtenerVersion();
+        return "\"" + (variante == null ? etiqueta : etiqueta + "-" + variante) + "\"";
+    }
+
+    private static Lista<Tarea> elementos(Pagina<Tarea> pagina) {
+        return pagina == null ? null : pagina.getElementos();
+    }
+
+    // Respuesta condicional con la época y la versión del servicio como ETag fuerte ("época-versión").
+    // La época cambia en cada arranque: sin ella, la versión reiniciada en 0 podría repetir la ETag
+    // de otros datos y darle un 304 erróneo a un cliente de la ejecución anterior.
+    // Si coincide con If-None-Match se responde 304 sin consultar las estructuras ni serializar;
+    // la versión se lee antes que los datos, así que la ETag nunca es más nueva que el contenido.
+    private <T> ResponseEntity<T> condicional(WebRequest peticion, Supplier<ResponseEntity<T>> consulta) {
+        return condicional(peticion, null, consulta);
+    }
+
+    // Igual, para respuestas cuyo cuerpo depende de Accept-Encoding: la ETag lleva la codificación
+    // como sufijo (la versión comprimida y la sin comprimir no son el mismo cuerpo) y tanto el 200
+    // como el 304 llevan "Vary: Accept-Encoding"
+    // Parámetro: codificacion - Codificación del cuerpo ("gzip", "identity"), o null si no varía
+    private <T> ResponseEntity<T> condicional(WebRequest peticion, String codificacion,
+                                              Supplier<ResponseEntity<T>> consulta) {
+        String etag = etiqueta(codificacion);
+        if (peticion.checkNotModified(etag)) {
+            ResponseEntity.BodyBuilder noModificado = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag);
+            if (codificacion != null) {
+                noModificado.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            return noModificado.build();
+        }
+        ResponseEntity<T> respuesta = consulta.get();
+        if (!respuesta.getStatusCode().is2xxSuccessful()) {
+            return respuesta;
+        }
+        ResponseEntity.BodyBuilder conEtiqueta = ResponseEntity.status(respuesta.getStatusCode())
+                .headers(respuesta.getHeaders())
+                .eTag(etag);
+        if (codificacion != null) {
+            conEtiqueta.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return conEtiqueta.body(respuesta.getBody());
+    }
+}
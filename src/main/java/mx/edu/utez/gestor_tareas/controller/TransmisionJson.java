@@ -0,0 +1,73 @@
+package mx.edu.utez.gestor_tareas.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mx.edu.utez.gestor_tareas.model.Pagina;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Escribe una colección completa como arreglo JSON directamente en la respuesta, sin armarla
+// antes en memoria. Los elementos se piden al servicio por bloques de TAMANIO_BLOQUE con el
+// cursor de paginación: cada bloque se copia con un bloqueo de lectura corto y se serializa
+// fuera del bloqueo con JsonGenerator, así que la memoria por petición es la de un bloque
+// sin importar el número de tareas. Opcionalmente se comprime con gzip mientras se escribe.
+// Cada bloque es consistente por sí mismo, pero entre bloques pueden entrar modificaciones
+// (igual que al pedir las páginas una a una). Si la tarea del cursor desaparece entre bloques
+// (en los recorridos del árbol el cursor es la tarea misma, y en preorden o postorden no hay una
+// clave siguiente de la que retomar), el flujo falla: se lanza una excepción sin cerrar el
+// arreglo, el contenedor corta la respuesta y el cliente no recibe un 200 con una lista incompleta
+// que parezca válida.
+// El cuerpo se escribe en el hilo de la petición (ver WebConfig.ConvertidorFlujo).
+final class TransmisionJson {
+
+    // Elementos que se copian del servicio en cada bloque
+    static final int TAMANIO_BLOQUE = 256;
+
+    // Consulta de una página a partir de un cursor (null para empezar desde el inicio)
+    interface Paginador<T> {
+        Pagina<T> pagina(Long cursor, int limite);
+    }
+
+    private TransmisionJson() {
+    }
+
+    // Crea el cuerpo de la respuesta a partir del primer bloque (ya consultado por el controlador,
+    // para poder responder 404 antes de empezar a escribir)
+    // Parámetros: mapeador - ObjectMapper de la aplicación (con sus módulos), primero - Primer bloque,
+    //             paginador - Consulta de los bloques siguientes, gzip - true para comprimir
+    static StreamingResponseBody cuerpo(ObjectMapper mapeador, Pagina<?> primero, Paginador<?> paginador,
+                                        boolean gzip) {
+        return salida -> {
+            OutputStream destino = gzip ? new GZIPOutputStream(salida, 8192) : salida;
+            try (JsonGenerator generador = mapeador.createGenerator(destino)) {
+                generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Si el flujo falla, el arreglo debe quedar abierto (sin "]" automático al cerrar)
+                generador.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generador.writeStartArray();
+                Pagina<?> bloque = primero;
+                while (true) {
+                    for (Object elemento : bloque.getElementos()) {
+                        generador.writeObject(elemento);
+                    }
+                    // Cada bloque sale como un fragmento de la respuesta
+                    generador.flush();
+                    Long cursor = bloque.getSiguienteCursor();
+                    if (cursor == null) {
+                        break;
+                    }
+                    bloque = paginador.pagina(cursor, TAMANIO_BLOQUE);
+                    if (bloque == null) {
+                        throw new IOException("La tarea " + cursor + " se eliminó durante la transmisión");
+                    }
+                }
+                generador.writeEndArray();
+            }
+            if (destino instanceof GZIPOutputStream comprimido) {
+                comprimido.finish();
+            }
+        };
+    }
+}
@@ -1,55 +1,110 @@
 package mx.edu.utez.gestor_tareas.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 // Modelo que representa una acción realizada en el sistema.
 // Se utiliza para almacenar en la pila de historial de acciones.
+// Es un registro compacto e inmutable: tipo, ID y título de la tarea (la misma cadena que ya
+// tiene la tarea, sin copiarla) y la marca de tiempo en nanosegundos desde la época.
+// La descripción y la fecha se construyen solo cuando se consultan (por ejemplo, al serializar).
+// Puede llevar el cambio inverso para deshacerla; no se serializa ni se guarda en disco.
 public class Accion {
-    private String tipo; // CREAR, ELIMINAR, ACTUALIZAR, COMPLETAR
-    private String descripcion;
-    private LocalDateTime fechaHora;
 
-    public Accion() {
-        this.fechaHora = LocalDateTime.now();
+    public enum Tipo {
+        CREAR("Tarea creada: "),
+        ELIMINAR("Tarea eliminada: "),
+        ACTUALIZAR("Tarea actualizada: "),
+        COMPLETAR("Tarea completada: ");
+
+        private final String prefijoDescripcion;
+
+        Tipo(String prefijoDescripcion) {
+            this.prefijoDescripcion = prefijoDescripcion;
+        }
+    }
+
+    private final Tipo tipo;
+    private final long tareaId;
+    private final String titulo;
+    private final long marcaTiempo;
+    private final CambioTarea cambio;
+
+    // Constructor que registra una acción sobre una tarea en este momento
+    public Accion(Tipo tipo, Tarea tarea) {
+        this(tipo, tarea, null);
     }
 
-    public Accion(String tipo, String descripcion) {
+    // Constructor que registra una acción junto con su cambio inverso
+    // Parámetros: tipo - Tipo de acción, tarea - Tarea afectada, cambio - Datos para deshacerla (puede ser null)
+    public Accion(Tipo tipo, Tarea tarea, CambioTarea cambio) {
         this.tipo = tipo;
-        this.descripcion = descripcion;
-        this.fechaHora = LocalDateTime.now();
+        this.tareaId = tarea.getId();
+        this.titulo = tarea.getTitulo();
+        this.marcaTiempo = ahoraEnNanos();
+        this.cambio = cambio;
     }
 
-    public String getTipo() {
+    // Constructor con todos los campos (por ejemplo, al leer el historial guardado en disco)
+    public Accion(Tipo tipo, long tareaId, String titulo, long marcaTiempo) {
+        this.tipo = tipo;
+        this.tareaId = tareaId;
+        this.titulo = titulo;
+        this.marcaTiempo = marcaTiempo;
+        this.cambio = null;
+    }
+
+    // Lee la hora del sistema en cada acción (sigue los ajustes del reloj; un long alcanza hasta 2262)
+    // Retorna: Nanosegundos desde la época (1970-01-01T00:00:00Z)
+    public static long ahoraEnNanos() {
+        Instant ahora = Instant.now();
+        return ahora.getEpochSecond() * 1_000_000_000L + ahora.getNano();
+    }
+
+    public Tipo getTipo() {
         return tipo;
     }
 
-    public void setTipo(String tipo) {
-        this.tipo = tipo;
+    public long getTareaId() {
+        return tareaId;
     }
 
-    public String getDescripcion() {
-        return descripcion;
+    @JsonIgnore
+    public String getTitulo() {
+        return titulo;
     }
 
-    public void setDescripcion(String descripcion) {
-        this.descripcion = descripcion;
+    @JsonIgnore
+    public long getMarcaTiempo() {
+        return marcaTiempo;
     }
 
-    public LocalDateTime getFechaHora() {
-        return fechaHora;
+    @JsonIgnore
+    public CambioTarea getCambio() {
+        return cambio;
     }
 
-    public void setFechaHora(LocalDateTime fechaHora) {
-        this.fechaHora = fechaHora;
+    // Descripción legible, construida al consultarla
+    public String getDescripcion() {
+        return tipo.prefijoDescripcion + titulo;
+    }
+
+    // Fecha y hora local de la acción, construida al consultarla
+    public LocalDateTime getFechaHora() {
+        Instant instante = Instant.ofEpochSecond(0, marcaTiempo);
+        return LocalDateTime.ofInstant(instante, ZoneId.systemDefault());
     }
 
     @Override
     public String toString() {
         return "Accion{" +
-                "tipo='" + tipo + '\'' +
-                ", descripcion='" + descripcion + '\'' +
-                ", fechaHora=" + fechaHora +
+                "tipo=" + tipo +
+                ", tareaId=" + tareaId +
+                ", titulo='" + titulo + '\'' +
+                ", marcaTiempo=" + marcaTiempo +
                 '}';
     }
 }
-
@@ -0,0 +1,72 @@
+package mx.edu.utez.gestor_tareas.model;
+
+import java.util.Objects;
+
+// Operación inversa guardada junto a una acción del historial para poder deshacerla.
+// Solo contiene lo necesario:
+// - Actualización: los valores anteriores de todos los campos editables (null incluido, que es
+//   un valor válido de la descripción, por eso no se usa null como "sin cambio").
+// - Eliminación o compleción: la tarea retirada, su estado anterior y la entrada que ocupaba en la
+//   cola si seguía pendiente (el servicio la usa para devolverle su lugar).
+// La creación no necesita datos: se deshace eliminando la tarea por su ID.
+public class CambioTarea {
+    private final String tituloAnterior;
+    private final String descripcionAnterior;
+    private final Tarea.Prioridad prioridadAnterior;
+    private final Tarea.Estado estadoAnterior;
+    private final Tarea tareaRetirada;
+    private final EntradaCola lugarEnCola;
+
+    private CambioTarea(String tituloAnterior, String descripcionAnterior, Tarea.Prioridad prioridadAnterior,
+                        Tarea.Estado estadoAnterior, Tarea tareaRetirada, EntradaCola lugarEnCola) {
+        this.tituloAnterior = tituloAnterior;
+        this.descripcionAnterior = descripcionAnterior;
+        this.prioridadAnterior = prioridadAnterior;
+        this.estadoAnterior = estadoAnterior;
+        this.tareaRetirada = tareaRetirada;
+        this.lugarEnCola = lugarEnCola;
+    }
+
+    // Crea el cambio inverso de una actualización guardando todos los valores anteriores
+    // Retorna: El cambio, o null si no cambió ningún campo
+    public static CambioTarea deActualizacion(Tarea anterior, String titulo, String descripcion,
+                                              Tarea.Prioridad prioridad, Tarea.Estado estado) {
+        if (Objects.equals(anterior.getTitulo(), titulo) && Objects.equals(anterior.getDescripcion(), descripcion)
+                && anterior.getPrioridad() == prioridad && anterior.getEstado() == estado) {
+            return null;
+        }
+        return new CambioTarea(anterior.getTitulo(), anterior.getDescripcion(), anterior.getPrioridad(),
+                anterior.getEstado(), null, null);
+    }
+
+    // Crea el cambio inverso de una eliminación (o compleción)
+    // Parámetros: tarea - La tarea retirada, estadoAnterior - Estado antes de la acción,
+    //             lugarEnCola - Entrada que la tarea ocupaba en la cola (null si no seguía pendiente)
+    public static CambioTarea deEliminacion(Tarea tarea, Tarea.Estado estadoAnterior, EntradaCola lugarEnCola) {
+        return new CambioTarea(null, null, null, estadoAnterior, tarea, lugarEnCola);
+    }
+
+    public String getTituloAnterior() {
+        return tituloAnterior;
+    }
+
+    public String getDescripcionAnterior() {
+        return descripcionAnterior;
+    }
+
+    public Tarea.Prioridad getPrioridadAnterior() {
+        return prioridadAnterior;
+    }
+
+    public Tarea.Estado getEstadoAnterior() {
+        return estadoAnterior;
+    }
+
+    public Tarea getTareaRetirada() {
+        return tareaRetirada;
+    }
+
+    public EntradaCola getLugarEnCola() {
+        return lugarEnCola;
+    }
+}
@@ -0,0 +1,45 @@
+package mx.edu.utez.gestor_tareas.model;
+
+import mx.edu.utez.gestor_tareas.util.Lista;
+
+// Modelo de la respuesta de sincronización incremental: las tareas creadas o modificadas y los
+// IDs de las eliminadas después de una versión, junto con la época y la versión actuales (que el
+// cliente envía en la siguiente consulta). Si la versión pedida ya no está en la bitácora o es de
+// otra época (otro arranque del servidor), se indica que hay que resincronizar con la lista
+// completa y las listas van vacías.
+public class CambiosDesde {
+    private final String epoca;
+    private final long version;
+    private final boolean resincronizar;
+    private final Lista<Tarea> actualizadas;
+    private final Lista<Long> eliminadas;
+
+    public CambiosDesde(String epoca, long version, boolean resincronizar, Lista<Tarea> actualizadas,
+                        Lista<Long> eliminadas) {
+        this.epoca = epoca;
+        this.version = version;
+        this.resincronizar = resincronizar;
+        this.actualizadas = actualizadas;
+        this.eliminadas = eliminadas;
+    }
+
+    public String getEpoca() {
+        return epoca;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isResincronizar() {
+        return resincronizar;
+    }
+
+    public Lista<Tarea> getActualizadas() {
+        return actualizadas;
+    }
+
+    public Lista<Long> getEliminadas() {
+        return eliminadas;
+    }
+}
@@ -0,0 +1,42 @@
+package mx.edu.utez.gestor_tareas.model;
+
+// Entrada de la cola de pendientes: la tarea, su secuencia y su marca de lápida.
+// "muerta" solo se escribe bajo el bloqueo de escritura del servicio; "consumida" la escribe el
+// único consumidor que desencoló la entrada, bajo el bloqueo de lectura.
+public class EntradaCola {
+    private final Tarea tarea;
+    private final long secuencia;
+    private volatile boolean muerta;
+    private volatile boolean consumida;
+
+    public EntradaCola(Tarea tarea, long secuencia) {
+        this.tarea = tarea;
+        this.secuencia = secuencia;
+    }
+
+    public Tarea getTarea() {
+        return tarea;
+    }
+
+    // Orden de llegada a la cola (sirve de cursor en la paginación)
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    public boolean isMuerta() {
+        return muerta;
+    }
+
+    public void setMuerta(boolean muerta) {
+        this.muerta = muerta;
+    }
+
+    public boolean isConsumida() {
+        return consumida;
+    }
+
+    // Marca la entrada como sacada de la cola; ya no puede recuperar su lugar
+    public void marcarConsumida() {
+        this.consumida = true;
+    }
+}
@@ -0,0 +1,92 @@
+package mx.edu.utez.gestor_tareas.model;
+
+// Modelo con las estadísticas del sistema en formato estructurado (JSON con un campo por valor).
+// Los conteos por estado y por prioridad vienen de contadores que el servicio mantiene al
+// modificar las tareas, así que construir este objeto no recorre las estructuras.
+public class Estadisticas {
+    private final int total;
+    private final int pendientes;
+    private final int enProgreso;
+    private final int completadas;
+    private final int prioridadAlta;
+    private final int prioridadMedia;
+    private final int prioridadBaja;
+    private final int enCola;
+    private final int historial;
+    private final long historialArchivado;
+    private final int arbol;
+
+    public Estadisticas(int total, int pendientes, int enProgreso, int completadas,
+                        int prioridadAlta, int prioridadMedia, int prioridadBaja,
+                        int enCola, int historial, long historialArchivado, int arbol) {
+        this.total = total;
+        this.pendientes = pendientes;
+        this.enProgreso = enProgreso;
+        this.completadas = completadas;
+        this.prioridadAlta = prioridadAlta;
+        this.prioridadMedia = prioridadMedia;
+        this.prioridadBaja = prioridadBaja;
+        this.enCola = enCola;
+        this.historial = historial;
+        this.historialArchivado = historialArchivado;
+        this.arbol = arbol;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPendientes() {
+        return pendientes;
+    }
+
+    public int getEnProgreso() {
+        return enProgreso;
+    }
+
+    public int getCompletadas() {
+        return completadas;
+    }
+
+    public int getPrioridadAlta() {
+        return prioridadAlta;
+    }
+
+    public int getPrioridadMedia() {
+        return prioridadMedia;
+    }
+
+    public int getPrioridadBaja() {
+        return prioridadBaja;
+    }
+
+    public int getEnCola() {
+        return enCola;
+    }
+
+    public int getHistorial() {
+        return historial;
+    }
+
+    public long getHistorialArchivado() {
+        return historialArchivado;
+    }
+
+    public int getArbol() {
+        return arbol;
+    }
+
+    // Mismo formato de texto que la respuesta simple de /api/estadisticas
+    @Override
+    public String toString() {
+        return new StringBuilder(128)
+                .append("Total: ").append(total)
+                .append(" | Pendientes: ").append(pendientes)
+                .append(" | En Progreso: ").append(enProgreso)
+                .append(" | Completadas: ").append(completadas)
+                .append(" | En Cola: ").append(enCola)
+                .append(" | Historial: ").append(historial)
+                .append(" | Árbol: ").append(arbol)
+                .toString();
+    }
+}
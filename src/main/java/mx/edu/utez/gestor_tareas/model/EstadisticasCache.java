@@ -0,0 +1,47 @@
+package mx.edu.utez.gestor_tareas.model;
+
+// Modelo con los contadores de uso de una caché: aciertos, fallos, entradas desalojadas por falta
+// de espacio e invalidadas (calculadas con una versión de los datos que ya cambió).
+// Las invalidadas también cuentan como fallos.
+public class EstadisticasCache {
+    private final int capacidad;
+    private final int tamanio;
+    private final long aciertos;
+    private final long fallos;
+    private final long desalojos;
+    private final long invalidadas;
+
+    public EstadisticasCache(int capacidad, int tamanio, long aciertos, long fallos, long desalojos,
+                             long invalidadas) {
+        this.capacidad = capacidad;
+        this.tamanio = tamanio;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.desalojos = desalojos;
+        this.invalidadas = invalidadas;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    public long getInvalidadas() {
+        return invalidadas;
+    }
+}
@@ -0,0 +1,52 @@
+package mx.edu.utez.gestor_tareas.model;
+
+// Modelo de un aviso de cambio que el servicio emite tras cada modificación.
+// Indica qué vistas quedaron desactualizadas (tareas, cola, historial) para que los
+// clientes recarguen solo lo necesario, en lugar de consultar periódicamente.
+public class EventoCambio {
+
+    public enum Tipo {
+        CREAR, ELIMINAR, ACTUALIZAR, COMPLETAR, PROCESAR, DESHACER
+    }
+
+    private final long version;
+    private final Tipo tipo;
+    private final Long tareaId;
+    private final boolean tareas;
+    private final boolean cola;
+    private final boolean historial;
+
+    public EventoCambio(long version, Tipo tipo, Long tareaId, boolean tareas, boolean cola, boolean historial) {
+        this.version = version;
+        this.tipo = tipo;
+        this.tareaId = tareaId;
+        this.tareas = tareas;
+        this.cola = cola;
+        this.historial = historial;
+    }
+
+    // Versión de los datos tras el cambio (la misma que se usa como ETag)
+    public long getVersion() {
+        return version;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getTareaId() {
+        return tareaId;
+    }
+
+    public boolean isTareas() {
+        return tareas;
+    }
+
+    public boolean isCola() {
+        return cola;
+    }
+
+    public boolean isHistorial() {
+        return historial;
+    }
+}
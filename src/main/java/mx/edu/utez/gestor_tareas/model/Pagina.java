@@ -0,0 +1,25 @@
+package mx.edu.utez.gestor_tareas.model;
+
+import mx.edu.utez.gestor_tareas.util.Lista;
+
+// Modelo de una página de resultados: los elementos y el cursor para pedir la siguiente.
+// El cursor es estable frente a inserciones y eliminaciones (un ID de tarea o una posición
+// que no se reutiliza), así que pedir la siguiente página cuesta O(página), no O(total).
+// siguienteCursor es null cuando ya no hay más elementos.
+public class Pagina<T> {
+    private final Lista<T> elementos;
+    private final Long siguienteCursor;
+
+    public Pagina(Lista<T> elementos, Long siguienteCursor) {
+        this.elementos = elementos;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public Lista<T> getElementos() {
+        return elementos;
+    }
+
+    public Long getSiguienteCursor() {
+        return siguienteCursor;
+    }
+}
@@ -0,0 +1,43 @@
+package mx.edu.utez.gestor_tareas.model;
+
+import mx.edu.utez.gestor_tareas.util.Lista;
+
+// Modelo con todo lo que muestra el dashboard, tomado en una sola lectura del servicio
+// para que los valores sean coherentes entre sí y la página haga una sola petición.
+public class ResumenDashboard {
+    private final Lista<Tarea> tareasUrgentes;
+    private final Estadisticas estadisticas;
+    private final Tarea siguienteEnCola;
+    private final Lista<Accion> historialReciente;
+
+    public ResumenDashboard(Lista<Tarea> tareasUrgentes, Estadisticas estadisticas, Tarea siguienteEnCola,
+                            Lista<Accion> historialReciente) {
+        this.tareasUrgentes = tareasUrgentes;
+        this.estadisticas = estadisticas;
+        this.siguienteEnCola = siguienteEnCola;
+        this.historialReciente = historialReciente;
+    }
+
+    // Tareas de mayor prioridad (las más antiguas primero dentro de cada prioridad)
+    public Lista<Tarea> getTareasUrgentes() {
+        return tareasUrgentes;
+    }
+
+    public Estadisticas getEstadisticas() {
+        return estadisticas;
+    }
+
+    // Mismo texto que /api/estadisticas
+    public String getEstadisticasTexto() {
+        return estadisticas.toString();
+    }
+
+    public Tarea getSiguienteEnCola() {
+        return siguienteEnCola;
+    }
+
+    // Acciones más recientes, de la última a la primera
+    public Lista<Accion> getHistorialReciente() {
+        return historialReciente;
+    }
+}
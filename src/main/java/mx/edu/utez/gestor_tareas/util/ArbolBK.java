@@ -0,0 +1,176 @@
+package mx.edu.utez.gestor_tareas.util;
+
+// Árbol BK (Burkhard-Keller) de términos para búsquedas tolerantes a errores de escritura.
+// Cada hijo cuelga de su padre según la distancia de Levenshtein entre ambos. Por la desigualdad
+// triangular, al buscar los términos a distancia <= k de una consulta que está a distancia d de
+// un nodo, solo hace falta bajar por los hijos con distancia entre d - k y d + k: el resto del
+// árbol se descarta sin calcular distancias, así que el número de comparaciones crece mucho más
+// lento que el número de términos.
+// Eliminar un término solo lo marca (lápida): el nodo sigue sirviendo para orientar la búsqueda
+// pero no aparece en los resultados, y si el término vuelve se reactiva.
+// No es seguro para hilos al modificarlo; las búsquedas concurrentes sí lo son (no comparten buffers).
+// Implementado con arrays nativos, sin usar colecciones de java.util.*
+public class ArbolBK {
+    private Nodo raiz;
+    private int vivos;
+    private int eliminados;
+    private long comparaciones;
+
+    private static final class Nodo {
+        private final String termino;
+        private boolean eliminado;
+        private int[] distancias = new int[0];
+        private Nodo[] hijos = new Nodo[0];
+
+        private Nodo(String termino) {
+            this.termino = termino;
+        }
+
+        // Hijo a una distancia, o null si no hay
+        private Nodo hijo(int distancia) {
+            for (int i = 0; i < distancias.length; i++) {
+                if (distancias[i] == distancia) {
+                    return hijos[i];
+                }
+            }
+            return null;
+        }
+
+        private void agregarHijo(int distancia, Nodo hijo) {
+            int cantidad = distancias.length;
+            int[] nuevasDistancias = new int[cantidad + 1];
+            Nodo[] nuevosHijos = new Nodo[cantidad + 1];
+            System.arraycopy(distancias, 0, nuevasDistancias, 0, cantidad);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, cantidad);
+            nuevasDistancias[cantidad] = distancia;
+            nuevosHijos[cantidad] = hijo;
+            distancias = nuevasDistancias;
+            hijos = nuevosHijos;
+        }
+    }
+
+    // Agrega un término (o reactiva uno eliminado)
+    public void agregar(String termino) {
+        if (raiz == null) {
+            raiz = new Nodo(termino);
+            vivos++;
+            return;
+        }
+        int[][] filas = new int[2][termino.length() + 1];
+        Nodo actual = raiz;
+        while (true) {
+            int distancia = distancia(termino, actual.termino, filas);
+            if (distancia == 0) {
+                if (actual.eliminado) {
+                    actual.eliminado = false;
+                    eliminados--;
+                    vivos++;
+                }
+                return;
+            }
+            Nodo siguiente = actual.hijo(distancia);
+            if (siguiente == null) {
+                actual.agregarHijo(distancia, new Nodo(termino));
+                vivos++;
+                return;
+            }
+            actual = siguiente;
+        }
+    }
+
+    // Marca un término como eliminado
+    // Retorna: true si estaba en el árbol
+    public boolean eliminar(String termino) {
+        if (raiz == null) {
+            return false;
+        }
+        int[][] filas = new int[2][termino.length() + 1];
+        Nodo actual = raiz;
+        while (actual != null) {
+            int distancia = distancia(termino, actual.termino, filas);
+            if (distancia == 0) {
+                if (actual.eliminado) {
+                    return false;
+                }
+                actual.eliminado = true;
+                vivos--;
+                eliminados++;
+                return true;
+            }
+            actual = actual.hijo(distancia);
+        }
+        return false;
+    }
+
+    // Busca los términos a distancia de Levenshtein menor o igual a la tolerancia
+    // Parámetros: consulta - Término buscado, tolerancia - Distancia máxima
+    // Retorna: Lista con los términos encontrados (en cualquier orden)
+    public Lista<String> buscar(String consulta, int tolerancia) {
+        Lista<String> resultado = new Lista<>();
+        if (raiz == null) {
+            return resultado;
+        }
+        int[][] filas = new int[2][consulta.length() + 1];
+        // Recorrido con pila explícita de nodos pendientes
+        Pila<Nodo> pendientes = new Pila<>();
+        pendientes.push(raiz);
+        while (!pendientes.estaVacia()) {
+            Nodo nodo = pendientes.pop();
+            int distancia = distancia(consulta, nodo.termino, filas);
+            if (distancia <= tolerancia && !nodo.eliminado) {
+                resultado.agregar(nodo.termino);
+            }
+            for (int i = 0; i < nodo.distancias.length; i++) {
+                if (Math.abs(nodo.distancias[i] - distancia) <= tolerancia) {
+                    pendientes.push(nodo.hijos[i]);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    // Retorna el número de términos vigentes (sin contar los eliminados)
+    public int tamanio() {
+        return vivos;
+    }
+
+    // Retorna el número de nodos marcados como eliminados
+    public int eliminados() {
+        return eliminados;
+    }
+
+    // Retorna el número total de distancias calculadas (para medir cuánto poda el árbol)
+    public long comparaciones() {
+        return comparaciones;
+    }
+
+    // Limpia todos los términos del árbol
+    public void limpiar() {
+        raiz = null;
+        vivos = 0;
+        eliminados = 0;
+    }
+
+    // Distancia de Levenshtein con dos filas de programación dinámica; "a" debe caber en las filas.
+    // El contador de comparaciones es aproximado si hay búsquedas concurrentes
+    private int distancia(String a, String b, int[][] filas) {
+        comparaciones++;
+        int[] anterior = filas[0];
+        int[] actual = filas[1];
+        for (int i = 0; i <= a.length(); i++) {
+            anterior[i] = i;
+        }
+        for (int j = 1; j <= b.length(); j++) {
+            actual[0] = j;
+            char caracter = b.charAt(j - 1);
+            for (int i = 1; i <= a.length(); i++) {
+                int sustitucion = anterior[i - 1] + (a.charAt(i - 1) == caracter ? 0 : 1);
+                actual[i] = Math.min(sustitucion, Math.min(anterior[i] + 1, actual[i - 1] + 1));
+            }
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return anterior[a.length()];
+    }
+}
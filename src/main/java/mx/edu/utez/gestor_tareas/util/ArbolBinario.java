@@ -2,9 +2,17 @@ package mx.edu.utez.gestor_tareas.util;
 
 import mx.edu.utez.gestor_tareas.model.Tarea;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 // Implementación de un Árbol Binario de Búsqueda para organizar tareas por prioridad.
 // Estructura que clasifica y organiza elementos según su nivel de prioridad.
 // Prioridad: ALTA > MEDIA > BAJA
+// El árbol se mantiene balanceado (AVL): la diferencia de altura entre los subárboles
+// de cada nodo es como máximo 1, por lo que la altura es O(log n) aunque las tareas
+// lleguen con IDs consecutivos y la misma prioridad.
+// Cada nodo guarda además el tamaño de su subárbol (árbol de estadísticos de orden),
+// lo que permite obtener la k-ésima tarea o la posición de una tarea en O(log n).
 public class ArbolBinario {
     private Nodo raiz;
     private int tamanio;
@@ -12,13 +20,19 @@ public class ArbolBinario {
     // Clase interna que representa un nodo del árbol
     private class Nodo {
         Tarea tarea;
+        int valorPrioridad; // Prioridad con la que se insertó (clave de ordenamiento)
         Nodo izquierdo;
         Nodo derecho;
+        int altura;
+        int tamanioSubarbol;
 
         Nodo(Tarea tarea) {
             this.tarea = tarea;
+            this.valorPrioridad = obtenerValorPrioridad(tarea.getPrioridad());
             this.izquierdo = null;
             this.derecho = null;
+            this.altura = 1;
+            this.tamanioSubarbol = 1;
         }
     }
 
@@ -37,36 +51,33 @@ public class ArbolBinario {
 
     // Método recursivo para insertar un nodo
     // Parámetros: nodo - Nodo actual, tarea - Tarea a insertar
-    // Retorna: Nodo raíz del subárbol
+    // Retorna: Nodo raíz del subárbol (ya balanceado)
     private Nodo insertarRecursivo(Nodo nodo, Tarea tarea) {
         if (nodo == null) {
             return new Nodo(tarea);
         }
 
-        int comparacion = compararPrioridad(tarea.getPrioridad(), nodo.tarea.getPrioridad());
-
-        if (comparacion < 0) {
+        if (compararConNodo(tarea, nodo) < 0) {
             nodo.izquierdo = insertarRecursivo(nodo.izquierdo, tarea);
-        } else if (comparacion > 0) {
-            nodo.derecho = insertarRecursivo(nodo.derecho, tarea);
         } else {
-            if (tarea.getId() < nodo.tarea.getId()) {
-                nodo.izquierdo = insertarRecursivo(nodo.izquierdo, tarea);
-            } else {
-                nodo.derecho = insertarRecursivo(nodo.derecho, tarea);
-            }
+            nodo.derecho = insertarRecursivo(nodo.derecho, tarea);
         }
 
-        return nodo;
+        return balancear(nodo);
     }
 
-    // Compara dos prioridades
-    // Parámetros: p1 - Prioridad 1, p2 - Prioridad 2
-    // Retorna: -1 si p1 > p2, 0 si iguales, 1 si p1 < p2
-    private int compararPrioridad(Tarea.Prioridad p1, Tarea.Prioridad p2) {
-        int valor1 = obtenerValorPrioridad(p1);
-        int valor2 = obtenerValorPrioridad(p2);
-        return Integer.compare(valor1, valor2);
+    // Compara una tarea con la clave de un nodo: primero por prioridad y, en caso de empate, por ID
+    // Retorna: negativo si la tarea va antes que el nodo, 0 si es la misma, positivo si va después
+    private int compararConNodo(Tarea tarea, Nodo nodo) {
+        return compararConNodo(obtenerValorPrioridad(tarea.getPrioridad()), tarea.getId(), nodo);
+    }
+
+    private int compararConNodo(int valorPrioridad, long id, Nodo nodo) {
+        int comparacion = Integer.compare(valorPrioridad, nodo.valorPrioridad);
+        if (comparacion != 0) {
+            return comparacion;
+        }
+        return Long.compare(id, nodo.tarea.getId());
     }
 
     // Obtiene el valor numérico de una prioridad
@@ -84,6 +95,62 @@ public class ArbolBinario {
         }
     }
 
+    // ========== BALANCEO (AVL) ==========
+
+    private int altura(Nodo nodo) {
+        return nodo == null ? 0 : nodo.altura;
+    }
+
+    private int tamanio(Nodo nodo) {
+        return nodo == null ? 0 : nodo.tamanioSubarbol;
+    }
+
+    // Recalcula la altura y el tamaño del subárbol a partir de los hijos
+    private void actualizar(Nodo nodo) {
+        nodo.altura = 1 + Math.max(altura(nodo.izquierdo), altura(nodo.derecho));
+        nodo.tamanioSubarbol = 1 + tamanio(nodo.izquierdo) + tamanio(nodo.derecho);
+    }
+
+    // Rotación simple a la derecha
+    private Nodo rotarDerecha(Nodo nodo) {
+        Nodo nuevaRaiz = nodo.izquierdo;
+        nodo.izquierdo = nuevaRaiz.derecho;
+        nuevaRaiz.derecho = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    // Rotación simple a la izquierda
+    private Nodo rotarIzquierda(Nodo nodo) {
+        Nodo nuevaRaiz = nodo.derecho;
+        nodo.derecho = nuevaRaiz.izquierdo;
+        nuevaRaiz.izquierdo = nodo;
+        actualizar(nodo);
+        actualizar(nuevaRaiz);
+        return nuevaRaiz;
+    }
+
+    // Restaura la propiedad AVL de un nodo después de insertar o eliminar en uno de sus subárboles
+    // Retorna: Nueva raíz del subárbol
+    private Nodo balancear(Nodo nodo) {
+        actualizar(nodo);
+        int factor = altura(nodo.izquierdo) - altura(nodo.derecho);
+        if (factor > 1) {
+            if (altura(nodo.izquierdo.izquierdo) < altura(nodo.izquierdo.derecho)) {
+                nodo.izquierdo = rotarIzquierda(nodo.izquierdo);
+            }
+            return rotarDerecha(nodo);
+        }
+        if (factor < -1) {
+            if (altura(nodo.derecho.derecho) < altura(nodo.derecho.izquierdo)) {
+                nodo.derecho = rotarDerecha(nodo.derecho);
+            }
+            return rotarIzquierda(nodo);
+        }
+        return nodo;
+    }
+
     // Busca una tarea por ID en el árbol
     // Parámetro: id - ID de la tarea a buscar
     // Retorna: Tarea encontrada o null
@@ -107,6 +174,7 @@ public class ArbolBinario {
     }
 
     // Elimina una tarea del árbol
+    // La tarea debe conservar la prioridad con la que fue insertada
     // Parámetro: tarea - Tarea a eliminar
     // Retorna: true si se eliminó, false si no se encontró
     public boolean eliminar(Tarea tarea) {
@@ -121,11 +189,13 @@ public class ArbolBinario {
             return null;
         }
 
-        if (nodo.tarea.getId().equals(tarea.getId())) {
+        int comparacion = compararConNodo(tarea, nodo);
+        if (comparacion < 0) {
+            nodo.izquierdo = eliminarRecursivo(nodo.izquierdo, tarea);
+        } else if (comparacion > 0) {
+            nodo.derecho = eliminarRecursivo(nodo.derecho, tarea);
+        } else {
             tamanio--;
-            if (nodo.izquierdo == null && nodo.derecho == null) {
-                return null;
-            }
             if (nodo.izquierdo == null) {
                 return nodo.derecho;
             }
@@ -133,19 +203,23 @@ public class ArbolBinario {
                 return nodo.izquierdo;
             }
             Nodo sucesor = encontrarMinimo(nodo.derecho);
-            nodo.tarea = sucesor.tarea;
-            nodo.derecho = eliminarRecursivo(nodo.derecho, sucesor.tarea);
-            return nodo;
+            nodo.derecho = eliminarMinimo(nodo.derecho);
+            sucesor.izquierdo = nodo.izquierdo;
+            sucesor.derecho = nodo.derecho;
+            nodo = sucesor;
         }
 
-        int comparacion = compararPrioridad(tarea.getPrioridad(), nodo.tarea.getPrioridad());
-        if (comparacion < 0) {
-            nodo.izquierdo = eliminarRecursivo(nodo.izquierdo, tarea);
-        } else {
-            nodo.derecho = eliminarRecursivo(nodo.derecho, tarea);
-        }
+        return balancear(nodo);
+    }
 
-        return nodo;
+    // Elimina el nodo mínimo de un subárbol
+    // Retorna: Nueva raíz del subárbol (ya balanceado)
+    private Nodo eliminarMinimo(Nodo nodo) {
+        if (nodo.izquierdo == null) {
+            return nodo.derecho;
+        }
+        nodo.izquierdo = eliminarMinimo(nodo.izquierdo);
+        return balancear(nodo);
     }
 
     // Encuentra el nodo con el valor mínimo (más a la izquierda)
@@ -159,49 +233,340 @@ public class ArbolBinario {
     // Recorrido Inorden (Izquierda - Raíz - Derecha)
     // Retorna: Lista con las tareas en orden inorden
     public Lista<Tarea> recorrerInorden() {
-        Lista<Tarea> resultado = new Lista<>();
-        inordenRecursivo(raiz, resultado);
-        return resultado;
-    }
-
-    private void inordenRecursivo(Nodo nodo, Lista<Tarea> resultado) {
-        if (nodo != null) {
-            inordenRecursivo(nodo.izquierdo, resultado);
-            resultado.agregar(nodo.tarea);
-            inordenRecursivo(nodo.derecho, resultado);
-        }
+        return copiar(iteradorInorden());
     }
 
     // Recorrido Preorden (Raíz - Izquierda - Derecha)
     // Retorna: Lista con las tareas en orden preorden
     public Lista<Tarea> recorrerPreorden() {
-        Lista<Tarea> resultado = new Lista<>();
-        preordenRecursivo(raiz, resultado);
+        return copiar(iteradorPreorden());
+    }
+
+    // Recorrido Postorden (Izquierda - Derecha - Raíz)
+    // Retorna: Lista con las tareas en orden postorden
+    public Lista<Tarea> recorrerPostorden() {
+        return copiar(iteradorPostorden());
+    }
+
+    private Lista<Tarea> copiar(Iterator<Tarea> iterador) {
+        Lista<Tarea> resultado = new Lista<>(Math.max(tamanio, 1));
+        while (iterador.hasNext()) {
+            resultado.agregar(iterador.next());
+        }
         return resultado;
     }
 
-    private void preordenRecursivo(Nodo nodo, Lista<Tarea> resultado) {
-        if (nodo != null) {
-            resultado.agregar(nodo.tarea);
-            preordenRecursivo(nodo.izquierdo, resultado);
-            preordenRecursivo(nodo.derecho, resultado);
+    // ========== CURSORES (RECORRIDOS ITERATIVOS) ==========
+    // Los cursores usan una pila explícita en lugar de recursión y no copian las tareas:
+    // cada llamada a next() avanza un nodo. Ocupan O(altura) de memoria.
+    // No deben usarse mientras el árbol se modifica.
+
+    // Cursor inorden desde la primera tarea
+    public Iterator<Tarea> iteradorInorden() {
+        IteradorInorden iterador = new IteradorInorden();
+        iterador.apilarIzquierdos(raiz);
+        return iterador;
+    }
+
+    // Cursor inorden que continúa después de la tarea indicada (O(log n) para posicionarse).
+    // La tarea no necesita seguir en el árbol: se continúa desde su posición según prioridad e ID.
+    // Parámetro: despuesDe - Última tarea entregada en la página anterior
+    public Iterator<Tarea> iteradorInorden(Tarea despuesDe) {
+        IteradorInorden iterador = new IteradorInorden();
+        iterador.posicionarDespuesDe(obtenerValorPrioridad(despuesDe.getPrioridad()), despuesDe.getId());
+        return iterador;
+    }
+
+    // Cursor inorden que empieza en la tarea con la posición indicada (O(log n) para posicionarse)
+    // Parámetro: posicion - Posición (desde 0) de la primera tarea a entregar
+    public Iterator<Tarea> iteradorInorden(int posicion) {
+        IteradorInorden iterador = new IteradorInorden();
+        iterador.posicionarEn(posicion);
+        return iterador;
+    }
+
+    // Cursor preorden desde la raíz
+    public Iterator<Tarea> iteradorPreorden() {
+        return new IteradorPreorden(null);
+    }
+
+    // Cursor preorden que continúa después de la tarea indicada
+    // Parámetro: despuesDe - Última tarea entregada en la página anterior
+    // Retorna: El cursor, o null si la tarea no está en el árbol
+    public Iterator<Tarea> iteradorPreorden(Tarea despuesDe) {
+        Pila<Nodo> camino = caminoHasta(despuesDe);
+        return camino == null ? null : new IteradorPreorden(camino);
+    }
+
+    // Cursor postorden desde la primera tarea
+    public Iterator<Tarea> iteradorPostorden() {
+        return new IteradorPostorden(null);
+    }
+
+    // Cursor postorden que continúa después de la tarea indicada
+    // Parámetro: despuesDe - Última tarea entregada en la página anterior
+    // Retorna: El cursor, o null si la tarea no está en el árbol
+    public Iterator<Tarea> iteradorPostorden(Tarea despuesDe) {
+        Pila<Nodo> camino = caminoHasta(despuesDe);
+        return camino == null ? null : new IteradorPostorden(camino);
+    }
+
+    // Obtiene el camino desde la raíz hasta el nodo de una tarea
+    // Retorna: Pila con los nodos del camino (el nodo de la tarea en la cima), o null si no existe
+    private Pila<Nodo> caminoHasta(Tarea tarea) {
+        Pila<Nodo> camino = new Pila<>();
+        Nodo actual = raiz;
+        while (actual != null) {
+            camino.push(actual);
+            int comparacion = compararConNodo(tarea, actual);
+            if (comparacion == 0) {
+                return camino;
+            }
+            actual = comparacion < 0 ? actual.izquierdo : actual.derecho;
         }
+        return null;
     }
 
-    // Recorrido Postorden (Izquierda - Derecha - Raíz)
-    // Retorna: Lista con las tareas en orden postorden
-    public Lista<Tarea> recorrerPostorden() {
-        Lista<Tarea> resultado = new Lista<>();
-        postordenRecursivo(raiz, resultado);
+    // Cursor inorden: la pila guarda los nodos cuyo subárbol izquierdo ya se visitó
+    private class IteradorInorden implements Iterator<Tarea> {
+        private final Pila<Nodo> pila = new Pila<>();
+
+        // Apila los ancestros mayores que la clave de referencia
+        void posicionarDespuesDe(int valorPrioridad, long id) {
+            Nodo actual = raiz;
+            while (actual != null) {
+                if (compararConNodo(valorPrioridad, id, actual) < 0) {
+                    pila.push(actual);
+                    actual = actual.izquierdo;
+                } else {
+                    actual = actual.derecho;
+                }
+            }
+        }
+
+        // Baja usando los tamaños de subárbol hasta la posición indicada;
+        // se apilan los nodos en los que se bajó a la izquierda y el nodo buscado
+        void posicionarEn(int posicion) {
+            Nodo actual = raiz;
+            while (actual != null) {
+                int izquierdos = tamanio(actual.izquierdo);
+                if (posicion < izquierdos) {
+                    pila.push(actual);
+                    actual = actual.izquierdo;
+                } else if (posicion == izquierdos) {
+                    pila.push(actual);
+                    return;
+                } else {
+                    posicion -= izquierdos + 1;
+                    actual = actual.derecho;
+                }
+            }
+        }
+
+        void apilarIzquierdos(Nodo nodo) {
+            while (nodo != null) {
+                pila.push(nodo);
+                nodo = nodo.izquierdo;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pila.estaVacia();
+        }
+
+        // Prioridad (valor numérico) del siguiente nodo, sin avanzar
+        int siguientePrioridad() {
+            return pila.peek().valorPrioridad;
+        }
+
+        @Override
+        public Tarea next() {
+            if (pila.estaVacia()) {
+                throw new NoSuchElementException();
+            }
+            Nodo nodo = pila.pop();
+            apilarIzquierdos(nodo.derecho);
+            return nodo.tarea;
+        }
+    }
+
+    // Cursor preorden: la pila guarda los subárboles pendientes de visitar
+    private class IteradorPreorden implements Iterator<Tarea> {
+        private final Pila<Nodo> pila = new Pila<>();
+
+        IteradorPreorden(Pila<Nodo> camino) {
+            if (camino == null) {
+                if (raiz != null) {
+                    pila.push(raiz);
+                }
+                return;
+            }
+            // Reconstruye el estado que tendría la pila justo después de visitar la cima del camino:
+            // por cada ancestro desde el que se bajó a la izquierda queda pendiente su subárbol derecho
+            Lista<Nodo> nodos = camino.obtenerTodos();
+            for (int i = 0; i < nodos.tamanio() - 1; i++) {
+                Nodo ancestro = nodos.obtener(i);
+                if (ancestro.izquierdo == nodos.obtener(i + 1) && ancestro.derecho != null) {
+                    pila.push(ancestro.derecho);
+                }
+            }
+            apilarHijos(camino.peek());
+        }
+
+        private void apilarHijos(Nodo nodo) {
+            if (nodo.derecho != null) {
+                pila.push(nodo.derecho);
+            }
+            if (nodo.izquierdo != null) {
+                pila.push(nodo.izquierdo);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pila.estaVacia();
+        }
+
+        @Override
+        public Tarea next() {
+            if (pila.estaVacia()) {
+                throw new NoSuchElementException();
+            }
+            Nodo nodo = pila.pop();
+            apilarHijos(nodo);
+            return nodo.tarea;
+        }
+    }
+
+    // Cursor postorden: la pila guarda el camino desde la raíz hasta el siguiente nodo a visitar
+    private class IteradorPostorden implements Iterator<Tarea> {
+        private final Pila<Nodo> pila;
+
+        IteradorPostorden(Pila<Nodo> camino) {
+            if (camino == null) {
+                pila = new Pila<>();
+                descender(raiz);
+                return;
+            }
+            // El camino ya tiene la forma de la pila: se avanza como si se acabara de visitar su cima
+            pila = camino;
+            avanzar(pila.pop());
+        }
+
+        // Baja hasta el primer nodo en postorden del subárbol, prefiriendo siempre la izquierda
+        private void descender(Nodo nodo) {
+            while (nodo != null) {
+                pila.push(nodo);
+                nodo = nodo.izquierdo != null ? nodo.izquierdo : nodo.derecho;
+            }
+        }
+
+        // Después de visitar un nodo, si era hijo izquierdo se baja por el subárbol derecho del padre
+        private void avanzar(Nodo visitado) {
+            if (!pila.estaVacia()) {
+                Nodo padre = pila.peek();
+                if (padre.izquierdo == visitado && padre.derecho != null) {
+                    descender(padre.derecho);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pila.estaVacia();
+        }
+
+        @Override
+        public Tarea next() {
+            if (pila.estaVacia()) {
+                throw new NoSuchElementException();
+            }
+            Nodo nodo = pila.pop();
+            avanzar(nodo);
+            return nodo.tarea;
+        }
+    }
+
+    // ========== ESTADÍSTICOS DE ORDEN ==========
+
+    // Obtiene la tarea que ocupa una posición en el recorrido inorden
+    // Parámetro: posicion - Posición desde 0
+    // Retorna: La tarea en esa posición, o null si está fuera de rango
+    public Tarea seleccionar(int posicion) {
+        if (posicion < 0 || posicion >= tamanio) {
+            return null;
+        }
+        Nodo actual = raiz;
+        while (actual != null) {
+            int izquierdos = tamanio(actual.izquierdo);
+            if (posicion < izquierdos) {
+                actual = actual.izquierdo;
+            } else if (posicion == izquierdos) {
+                return actual.tarea;
+            } else {
+                posicion -= izquierdos + 1;
+                actual = actual.derecho;
+            }
+        }
+        return null;
+    }
+
+    // Obtiene la posición de una tarea en el recorrido inorden
+    // Parámetro: tarea - Tarea a buscar
+    // Retorna: Posición desde 0, o -1 si la tarea no está en el árbol
+    public int rango(Tarea tarea) {
+        int posicion = 0;
+        Nodo actual = raiz;
+        while (actual != null) {
+            int comparacion = compararConNodo(tarea, actual);
+            if (comparacion < 0) {
+                actual = actual.izquierdo;
+            } else {
+                posicion += tamanio(actual.izquierdo);
+                if (comparacion == 0) {
+                    return posicion;
+                }
+                posicion++;
+                actual = actual.derecho;
+            }
+        }
+        return -1;
+    }
+
+    // Obtiene las tareas entre dos posiciones del recorrido inorden
+    // Parámetros: desde - Primera posición (incluida), hasta - Última posición (excluida)
+    // Retorna: Lista con las tareas del segmento (O(log n + tamaño del segmento))
+    public Lista<Tarea> obtenerSegmento(int desde, int hasta) {
+        desde = Math.max(desde, 0);
+        hasta = Math.min(hasta, tamanio);
+        Lista<Tarea> resultado = new Lista<>(Math.max(hasta - desde, 1));
+        if (desde >= hasta) {
+            return resultado;
+        }
+        Iterator<Tarea> iterador = iteradorInorden(desde);
+        for (int i = desde; i < hasta && iterador.hasNext(); i++) {
+            resultado.agregar(iterador.next());
+        }
         return resultado;
     }
 
-    private void postordenRecursivo(Nodo nodo, Lista<Tarea> resultado) {
-        if (nodo != null) {
-            postordenRecursivo(nodo.izquierdo, resultado);
-            postordenRecursivo(nodo.derecho, resultado);
-            resultado.agregar(nodo.tarea);
+    // Obtiene las K tareas más urgentes: primero ALTA, luego MEDIA y BAJA; dentro de
+    // cada prioridad, las más antiguas primero. Para cada prioridad se posiciona un cursor
+    // en su primera tarea (O(log n)) y el recorrido se detiene al reunir K resultados,
+    // por lo que el costo depende de K y no del total de tareas.
+    // Parámetro: k - Número máximo de tareas
+    // Retorna: Lista con hasta K tareas
+    public Lista<Tarea> obtenerMasUrgentes(int k) {
+        Lista<Tarea> resultado = new Lista<>(Math.max(Math.min(k, tamanio), 1));
+        for (int valor = 3; valor >= 1 && resultado.tamanio() < k; valor--) {
+            IteradorInorden iterador = new IteradorInorden();
+            iterador.posicionarDespuesDe(valor, Long.MIN_VALUE);
+            while (resultado.tamanio() < k && iterador.hasNext() && iterador.siguientePrioridad() == valor) {
+                resultado.agregar(iterador.next());
+            }
         }
+        return resultado;
     }
 
     // Obtiene todas las tareas del árbol (recorrido inorden)
@@ -222,6 +587,12 @@ public class ArbolBinario {
         return tamanio;
     }
 
+    // Obtiene la altura del árbol
+    // Retorna: Número de niveles (0 si está vacío)
+    public int altura() {
+        return altura(raiz);
+    }
+
     // Limpia todos los elementos del árbol
     public void limpiar() {
         raiz = null;
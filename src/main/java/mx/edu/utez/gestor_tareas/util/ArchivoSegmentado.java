@@ -0,0 +1,379 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Almacén en disco de solo anexado, dividido en segmentos de un número fijo de registros.
+// Los registros se numeran desde 0 en orden de llegada; el registro n está en el segmento
+// n / registrosPorSegmento, así que para leer una página basta abrir ese segmento y saltar
+// los registros anteriores dentro de él, sin recorrer los demás archivos.
+// Cada registro se serializa en binario con un Codificador (sin nombres de campos ni texto JSON).
+//
+// agregar() no hace E/S: deja el registro en una lista de pendientes en memoria y un único hilo
+// escritor los pasa a disco por lotes. Así quien anexa (por ejemplo, la pila del historial dentro
+// del bloqueo de escritura del servicio) nunca espera al disco ni recibe sus errores. Los registros
+// pendientes se pueden leer igual que los escritos, y un registro solo cuenta como escrito cuando
+// su lote ya se volcó al archivo, así que las lecturas de disco no toman el monitor mientras leen.
+// Si escribir falla, el segmento se recorta a lo último confirmado, los registros siguen en memoria
+// y el escritor reintenta tras una pausa. Los pendientes no pasan de maximoPendientes: con el buffer
+// lleno agregar() rechaza el registro (no lo numera) y lo cuenta como descartado. Se descartan los
+// nuevos y no los más antiguos porque el número de un registro fija su segmento y su posición.
+//
+// El directorio debe ser exclusivo de este archivo: no se reutilizan ni se borran segmentos ajenos,
+// y si ya hay segmentos con el mismo prefijo el constructor falla.
+public class ArchivoSegmentado<T> implements Closeable {
+
+    // Convierte registros a binario y de vuelta
+    public interface Codificador<T> {
+        void escribir(DataOutput salida, T registro) throws IOException;
+
+        T leer(DataInput entrada) throws IOException;
+    }
+
+    private static final String EXTENSION = ".seg";
+    private static final int TAMANIO_BUFFER = 64 * 1024;
+    private static final long PAUSA_REINTENTO_MS = 1000;
+    private static final int MAXIMO_PENDIENTES = 64 * 1024;
+    private static final System.Logger REGISTRO = System.getLogger(ArchivoSegmentado.class.getName());
+
+    private final Path directorio;
+    private final String prefijo;
+    private final int registrosPorSegmento;
+    private final Codificador<T> codificador;
+    private final int maximoPendientes;
+
+    // Estado compartido (protegido por el monitor del objeto):
+    // registros [escritos, total) que aún no están en disco, en orden
+    private Lista<T> pendientes = new Lista<>();
+    private long escritos;
+    private long total;
+    // Registros rechazados con el buffer lleno, y si ya se avisó del llenado actual
+    private long descartados;
+    private boolean avisoDeLleno;
+    private Thread escritor;
+    private boolean cerrando;
+
+    // Estado del hilo escritor (solo él lo usa)
+    private FileChannel canal;
+    private DataOutputStream salida;
+    private long segmentoAbierto = -1;
+    private long bytesConfirmados;
+
+    // Parámetros: directorio - Carpeta de los segmentos (se crea si no existe; debe ser exclusiva),
+    //             prefijo - Prefijo de los nombres de archivo,
+    //             registrosPorSegmento - Registros por archivo,
+    //             codificador - Serialización de los registros
+    public ArchivoSegmentado(Path directorio, String prefijo, int registrosPorSegmento, Codificador<T> codificador) {
+        this(directorio, prefijo, registrosPorSegmento, codificador, MAXIMO_PENDIENTES);
+    }
+
+    // Parámetros: los del constructor anterior,
+    //             maximoPendientes - Registros que puede retener en memoria mientras el disco falla
+    public ArchivoSegmentado(Path directorio, String prefijo, int registrosPorSegmento, Codificador<T> codificador,
+                             int maximoPendientes) {
+        if (registrosPorSegmento < 1) {
+            throw new IllegalArgumentException("Cada segmento debe admitir al menos un registro");
+        }
+        if (maximoPendientes < 1) {
+            throw new IllegalArgumentException("El buffer debe admitir al menos un registro pendiente");
+        }
+        this.directorio = directorio;
+        this.prefijo = prefijo;
+        this.registrosPorSegmento = registrosPorSegmento;
+        this.codificador = codificador;
+        this.maximoPendientes = maximoPendientes;
+        try {
+            Files.createDirectories(directorio);
+            try (DirectoryStream<Path> existentes = Files.newDirectoryStream(directorio, prefijo + "-*" + EXTENSION)) {
+                if (existentes.iterator().hasNext()) {
+                    throw new IllegalStateException("El directorio " + directorio + " ya tiene segmentos '" + prefijo + "'");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Anexa un registro al final (en memoria; el hilo escritor lo pasa a disco)
+    // Parámetro: registro - El registro a guardar
+    // Retorna: false si se descartó porque el buffer de pendientes está lleno (el disco sigue fallando)
+    public synchronized boolean agregar(T registro) {
+        if (pendientes.tamanio() >= maximoPendientes) {
+            descartados++;
+            if (!avisoDeLleno) {
+                avisoDeLleno = true;
+                REGISTRO.log(System.Logger.Level.WARNING, "Buffer de " + directorio + " lleno (" + maximoPendientes
+                        + " registros sin escribir); se descartan los nuevos. Descartados: " + descartados);
+            }
+            // Aunque se descarte, el escritor debe seguir reintentando para vaciar el buffer
+            despertarEscritor();
+            return false;
+        }
+        pendientes.agregar(registro);
+        total++;
+        despertarEscritor();
+        return true;
+    }
+
+    // Arranca el hilo escritor si no hay uno vivo, o lo avisa si está esperando (requiere el monitor)
+    private void despertarEscritor() {
+        if (escritor == null) {
+            escritor = new Thread(this::escribirPendientes, "escritor-" + prefijo);
+            escritor.setDaemon(true);
+            escritor.start();
+        } else {
+            notifyAll();
+        }
+    }
+
+    // Lee una página de registros en orden de llegada (de disco los ya escritos, de memoria los pendientes)
+    // Parámetros: desde - Número del primer registro (desde 0), limite - Número máximo de registros
+    // Retorna: Lista con los registros (vacía si desde está fuera de rango)
+    public Lista<T> leer(long desde, int limite) {
+        long hasta;
+        long finEnDisco;
+        Lista<T> enMemoria = null;
+        synchronized (this) {
+            hasta = Math.min(total, desde + Math.max(0, limite));
+            if (desde < 0 || desde >= hasta) {
+                return new Lista<>(1);
+            }
+            finEnDisco = Math.min(hasta, escritos);
+            long inicioEnMemoria = Math.max(desde, escritos);
+            if (inicioEnMemoria < hasta) {
+                enMemoria = pendientes.obtenerRango((int) (inicioEnMemoria - escritos), (int) (hasta - inicioEnMemoria));
+            }
+        }
+        Lista<T> pagina = new Lista<>((int) Math.max(1, hasta - desde));
+        if (desde < finEnDisco) {
+            // Los registros confirmados ya están volcados y no se vuelven a tocar: se leen sin el monitor
+            leerDeDisco(desde, finEnDisco, pagina);
+        }
+        if (enMemoria != null) {
+            pagina.agregarTodos(enMemoria);
+        }
+        return pagina;
+    }
+
+    // Retorna el número de registros guardados (escritos y pendientes)
+    public synchronized long tamanio() {
+        return total;
+    }
+
+    // Retorna el número de registros que aún no se escriben en disco
+    public synchronized int pendientes() {
+        return pendientes.tamanio();
+    }
+
+    // Retorna el número de registros rechazados por tener el buffer de pendientes lleno
+    public synchronized long descartados() {
+        return descartados;
+    }
+
+    // Retorna el número de segmentos que ocupan los registros
+    public synchronized long segmentos() {
+        return (total + registrosPorSegmento - 1) / registrosPorSegmento;
+    }
+
+    // Espera a que el escritor vuelque los pendientes y cierra el segmento abierto (los registros
+    // siguen disponibles; un nuevo agregar lo reabre). Si el disco sigue fallando, los registros
+    // que no se pudieron escribir se quedan en memoria.
+    @Override
+    public void close() {
+        Thread hilo;
+        synchronized (this) {
+            hilo = escritor;
+            if (hilo == null) {
+                return;
+            }
+            cerrando = true;
+            notifyAll();
+        }
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Cierra el archivo y borra sus segmentos y el directorio (si quedó vacío)
+    public void eliminar() {
+        close();
+        try {
+            try (DirectoryStream<Path> segmentos = Files.newDirectoryStream(directorio, prefijo + "-*" + EXTENSION)) {
+                for (Path segmento : segmentos) {
+                    Files.delete(segmento);
+                }
+            }
+            try (DirectoryStream<Path> restantes = Files.newDirectoryStream(directorio)) {
+                if (!restantes.iterator().hasNext()) {
+                    Files.delete(directorio);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Ciclo del hilo escritor: toma un lote de pendientes (sin pasar del fin del segmento), lo escribe
+    // fuera del monitor y solo entonces lo da por escrito. Termina al cerrar, sin pendientes (o si
+    // el disco falla durante el cierre: lo pendiente se queda en memoria y el próximo agregar lo reintenta)
+    private void escribirPendientes() {
+        while (true) {
+            long primero;
+            Lista<T> lote;
+            synchronized (this) {
+                while (pendientes.estaVacia() && !cerrando) {
+                    esperar(0);
+                }
+                if (pendientes.estaVacia()) {
+                    lote = null;
+                    primero = -1;
+                } else {
+                    primero = escritos;
+                    int hastaFinDeSegmento = (int) (registrosPorSegmento - primero % registrosPorSegmento);
+                    lote = pendientes.obtenerRango(0, Math.min(pendientes.tamanio(), hastaFinDeSegmento));
+                }
+            }
+            if (lote == null) {
+                // Cierre: se suelta el segmento fuera del monitor y se termina si no llegó nada más
+                descartarSalida();
+                if (terminarSiNoHayPendientes(false)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                escribirLote(primero, lote);
+            } catch (IOException | RuntimeException e) {
+                REGISTRO.log(System.Logger.Level.WARNING, "No se pudo escribir en " + directorio
+                        + "; los registros siguen en memoria y se reintentará"
+                        + " (descartados: " + descartados() + ")", e);
+                descartarSalida();
+                if (terminarSiNoHayPendientes(true)) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (this) {
+                escritos += lote.tamanio();
+                pendientes = pendientes.obtenerRango(lote.tamanio(), pendientes.tamanio() - lote.tamanio());
+                // Vuelve a haber espacio: el próximo llenado se avisa de nuevo
+                avisoDeLleno = false;
+            }
+        }
+    }
+
+    // Decide en un solo paso del monitor si el escritor termina, para que un agregar concurrente
+    // vea el escritor vivo (y lo avise) o ya terminado (y cree otro)
+    // Parámetro: fallo - true tras un error de escritura: si se está cerrando termina aunque haya
+    //                    pendientes; si no, espera la pausa de reintento
+    // Retorna: true si el escritor debe terminar
+    private synchronized boolean terminarSiNoHayPendientes(boolean fallo) {
+        if (fallo && !cerrando) {
+            esperar(PAUSA_REINTENTO_MS);
+            return false;
+        }
+        if (!fallo && !pendientes.estaVacia()) {
+            return false;
+        }
+        escritor = null;
+        cerrando = false;
+        return true;
+    }
+
+    // Escribe un lote que empieza en el registro "primero" y no cruza el fin de su segmento
+    private void escribirLote(long primero, Lista<T> lote) throws IOException {
+        long numero = primero / registrosPorSegmento;
+        if (salida == null || numero != segmentoAbierto) {
+            abrirSegmento(numero, primero % registrosPorSegmento == 0);
+        }
+        for (T registro : lote) {
+            codificador.escribir(salida, registro);
+        }
+        salida.flush();
+        bytesConfirmados = canal.position();
+    }
+
+    // Abre un segmento y lo recorta a lo confirmado (descarta lo que dejó un lote que falló)
+    private void abrirSegmento(long numero, boolean nuevo) throws IOException {
+        descartarSalida();
+        if (nuevo) {
+            bytesConfirmados = 0;
+        }
+        FileChannel abierto = FileChannel.open(segmento(numero), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            abierto.truncate(bytesConfirmados);
+            abierto.position(bytesConfirmados);
+        } catch (IOException e) {
+            abierto.close();
+            throw e;
+        }
+        canal = abierto;
+        salida = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(abierto), TAMANIO_BUFFER));
+        segmentoAbierto = numero;
+    }
+
+    // Cierra el segmento abierto ignorando errores (lo no confirmado se recorta al reabrirlo)
+    private void descartarSalida() {
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                // El canal ya no se usa; lo que no se confirmó se descarta al reabrir el segmento
+            }
+        }
+        canal = null;
+        salida = null;
+        segmentoAbierto = -1;
+    }
+
+    private void leerDeDisco(long desde, long hasta, Lista<T> pagina) {
+        try {
+            long posicion = desde;
+            while (posicion < hasta) {
+                long numeroSegmento = posicion / registrosPorSegmento;
+                long primeroDelSegmento = numeroSegmento * registrosPorSegmento;
+                long finDelSegmento = Math.min(hasta, primeroDelSegmento + registrosPorSegmento);
+                try (InputStream archivo = Files.newInputStream(segmento(numeroSegmento));
+                     DataInputStream entrada = new DataInputStream(new BufferedInputStream(archivo, TAMANIO_BUFFER))) {
+                    for (long saltado = primeroDelSegmento; saltado < posicion; saltado++) {
+                        codificador.leer(entrada);
+                    }
+                    for (; posicion < finDelSegmento; posicion++) {
+                        pagina.agregar(codificador.leer(entrada));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Espera un aviso (o el tiempo indicado; 0 = sin límite). Una interrupción se trata como cierre
+    private void esperar(long milisegundos) {
+        try {
+            wait(milisegundos);
+        } catch (InterruptedException e) {
+            cerrando = true;
+        }
+    }
+
+    private Path segmento(long numero) {
+        return directorio.resolve(String.format("%s-%06d%s", prefijo, numero, EXTENSION));
+    }
+}
@@ -0,0 +1,188 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import mx.edu.utez.gestor_tareas.model.EstadisticasCache;
+
+// Caché acotada con política LRU (se desaloja la entrada usada hace más tiempo) y claves de texto.
+// Cada entrada guarda la versión de los datos con que se calculó: al consultarla con otra versión
+// se descarta y cuenta como fallo, así que una modificación invalida los resultados viejos sin
+// vaciar la caché (las entradas viejas que nadie vuelve a pedir salen solas por LRU).
+// Las entradas viven en arreglos paralelos de tamaño fijo, enlazadas por índice en una lista doble
+// del uso más reciente al más antiguo; una tabla hash con sondeo lineal (como TablaHashLong) lleva
+// de la clave al índice de la entrada. Consultar, guardar y desalojar son O(1).
+// Es segura para hilos: cada operación es corta y se sincroniza sobre la caché.
+// Implementada con arrays nativos, sin usar colecciones de java.util.*
+public class CacheLRU<V> {
+    private static final int NINGUNO = -1;
+
+    private final int capacidad;
+    private final String[] claves;
+    private final Object[] valores;
+    private final long[] versiones;
+    private final int[] anteriores;
+    private final int[] siguientes;
+    // Índices de entradas libres (pila)
+    private final int[] libres;
+    private int numeroLibres;
+    // Ranuras de la tabla hash: índice de la entrada + 1, o 0 si está vacía
+    private final int[] tabla;
+    private final int mascara;
+    private int masReciente = NINGUNO;
+    private int menosReciente = NINGUNO;
+    private int tamanio;
+
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long invalidadas;
+
+    // Constructor que inicializa la caché vacía
+    // Parámetro: capacidad - Número máximo de entradas
+    public CacheLRU(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser al menos 1");
+        }
+        this.capacidad = capacidad;
+        this.claves = new String[capacidad];
+        this.valores = new Object[capacidad];
+        this.versiones = new long[capacidad];
+        this.anteriores = new int[capacidad];
+        this.siguientes = new int[capacidad];
+        this.libres = new int[capacidad];
+        for (int i = 0; i < capacidad; i++) {
+            libres[i] = capacidad - 1 - i;
+        }
+        this.numeroLibres = capacidad;
+        int ranuras = 2;
+        while (ranuras < capacidad * 2) {
+            ranuras <<= 1;
+        }
+        this.tabla = new int[ranuras];
+        this.mascara = ranuras - 1;
+    }
+
+    // Obtiene el valor guardado para una clave si se calculó con la versión indicada
+    // Parámetros: clave - Clave a buscar, version - Versión actual de los datos
+    // Retorna: El valor guardado, o null si no existe o es de otra versión (en ese caso se descarta)
+    @SuppressWarnings("unchecked")
+    public synchronized V obtener(String clave, long version) {
+        int ranura = ranura(clave);
+        if (tabla[ranura] == 0) {
+            fallos++;
+            return null;
+        }
+        int entrada = tabla[ranura] - 1;
+        if (versiones[entrada] != version) {
+            invalidadas++;
+            fallos++;
+            quitar(ranura, entrada);
+            return null;
+        }
+        aciertos++;
+        desenlazar(entrada);
+        enlazarAlFrente(entrada);
+        return (V) valores[entrada];
+    }
+
+    // Guarda un valor calculado con una versión, reemplazando el anterior de la misma clave;
+    // si la caché está llena desaloja la entrada usada hace más tiempo
+    // Parámetros: clave - Clave, version - Versión de los datos, valor - Valor a guardar (no puede ser null)
+    public synchronized void guardar(String clave, long version, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        int ranura = ranura(clave);
+        int entrada;
+        if (tabla[ranura] != 0) {
+            entrada = tabla[ranura] - 1;
+            desenlazar(entrada);
+        } else {
+            if (tamanio == capacidad) {
+                quitar(ranura(claves[menosReciente]), menosReciente);
+                desalojos++;
+                // Quitar desplaza elementos de la tabla: la ranura libre puede haber cambiado
+                ranura = ranura(clave);
+            }
+            entrada = libres[--numeroLibres];
+            claves[entrada] = clave;
+            tabla[ranura] = entrada + 1;
+            tamanio++;
+        }
+        valores[entrada] = valor;
+        versiones[entrada] = version;
+        enlazarAlFrente(entrada);
+    }
+
+    // Retorna el número de entradas guardadas (incluye las de versiones viejas aún no consultadas)
+    public synchronized int tamanio() {
+        return tamanio;
+    }
+
+    // Retorna los contadores de uso de la caché, tomados en un mismo instante
+    public synchronized EstadisticasCache estadisticas() {
+        return new EstadisticasCache(capacidad, tamanio, aciertos, fallos, desalojos, invalidadas);
+    }
+
+    // Ranura de la clave, o la ranura vacía donde se insertaría
+    private int ranura(String clave) {
+        int hash = clave.hashCode();
+        int indice = (hash ^ (hash >>> 16)) & mascara;
+        while (tabla[indice] != 0 && !claves[tabla[indice] - 1].equals(clave)) {
+            indice = (indice + 1) & mascara;
+        }
+        return indice;
+    }
+
+    // Quita una entrada de la tabla y de la lista de uso, y devuelve su índice a los libres
+    private void quitar(int ranura, int entrada) {
+        desenlazar(entrada);
+        desplazarHaciaAtras(ranura);
+        claves[entrada] = null;
+        valores[entrada] = null;
+        libres[numeroLibres++] = entrada;
+        tamanio--;
+    }
+
+    // Rellena el hueco dejado en la tabla moviendo hacia atrás los elementos de la misma
+    // secuencia de sondeo (igual que TablaHashLong)
+    private void desplazarHaciaAtras(int hueco) {
+        tabla[hueco] = 0;
+        int siguiente = (hueco + 1) & mascara;
+        while (tabla[siguiente] != 0) {
+            int hash = claves[tabla[siguiente] - 1].hashCode();
+            int ideal = (hash ^ (hash >>> 16)) & mascara;
+            if (((siguiente - ideal) & mascara) >= ((siguiente - hueco) & mascara)) {
+                tabla[hueco] = tabla[siguiente];
+                tabla[siguiente] = 0;
+                hueco = siguiente;
+            }
+            siguiente = (siguiente + 1) & mascara;
+        }
+    }
+
+    private void enlazarAlFrente(int entrada) {
+        anteriores[entrada] = NINGUNO;
+        siguientes[entrada] = masReciente;
+        if (masReciente != NINGUNO) {
+            anteriores[masReciente] = entrada;
+        }
+        masReciente = entrada;
+        if (menosReciente == NINGUNO) {
+            menosReciente = entrada;
+        }
+    }
+
+    private void desenlazar(int entrada) {
+        int anterior = anteriores[entrada];
+        int siguiente = siguientes[entrada];
+        if (anterior != NINGUNO) {
+            siguientes[anterior] = siguiente;
+        } else {
+            masReciente = siguiente;
+        }
+        if (siguiente != NINGUNO) {
+            anteriores[siguiente] = anterior;
+        } else {
+            menosReciente = anterior;
+        }
+    }
+}
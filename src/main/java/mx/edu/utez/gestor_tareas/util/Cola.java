@@ -1,10 +1,14 @@
 package mx.edu.utez.gestor_tareas.util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+
 // Implementación de una estructura de datos Cola (Queue) usando FIFO (First In, First Out).
 // El primer elemento ingresado es el primero en salir.
 // Utilizada para gestionar tareas en el orden en que fueron creadas.
-// Implementada con arrays nativos, sin usar clases de java.util.*
-public class Cola<T> {
+// Se recorre desde el frente hasta el final sin copiar los elementos del buffer circular.
+// Implementada con arrays nativos, sin usar colecciones de java.util.*
+public class Cola<T> implements Iterable<T> {
     private Object[] elementos;
     private int frente;
     private int fin;
@@ -71,18 +75,23 @@ public class Cola<T> {
     // Obtiene todos los elementos de la cola (sin modificar la cola)
     // Retorna: Lista con todos los elementos
     public Lista<T> obtenerTodos() {
-        Lista<T> resultado = new Lista<>();
-        if (estaVacia()) {
-            return resultado;
-        }
-        int indice = frente;
-        for (int i = 0; i < tamanio; i++) {
-            @SuppressWarnings("unchecked")
-            T elemento = (T) elementos[indice];
-            resultado.agregar(elemento);
-            indice = (indice + 1) % capacidad;
-        }
-        return resultado;
+        // El buffer circular se copia en a lo sumo dos bloques: del frente al final del array y desde el inicio
+        Object[] copia = new Object[tamanio];
+        int primerBloque = Math.min(tamanio, capacidad - frente);
+        System.arraycopy(elementos, frente, copia, 0, primerBloque);
+        System.arraycopy(elementos, 0, copia, primerBloque, tamanio - primerBloque);
+        return new Lista<>(copia, tamanio);
+    }
+
+    // Recorre los elementos desde el frente sin copiarlos
+    @Override
+    public Iterator<T> iterator() {
+        return new RecorridoArreglo<>(elementos, frente, 0, tamanio);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RecorridoArreglo<>(elementos, frente, 0, tamanio);
     }
 
     // Limpia todos los elementos de la cola
@@ -0,0 +1,239 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Implementación de una Cola (FIFO) acotada para múltiples productores y múltiples consumidores
+// sin bloqueos, basada en un buffer circular con números de secuencia por posición.
+// Cada posición guarda una secuencia que indica si está libre para el productor del turno
+// correspondiente o lista para su consumidor; productores y consumidores reservan su turno
+// con un compareAndSet sobre el contador de final o de frente, sin bloquearse entre sí.
+// Cuando se llena, ofrecer() retorna false; ampliar() duplica la capacidad pero requiere
+// que nadie más esté usando la cola en ese momento (el llamador debe garantizar la exclusión).
+// Su rendimiento bruto es parecido al de una Cola protegida por un bloqueo; lo que aporta en
+// TareaService es que desencolar no necesita exclusión, así que procesar la cola solo toma el
+// bloqueo de lectura compartido y no detiene las consultas (encolar sí va con el de escritura).
+public class ColaConcurrente<T> {
+    private AtomicReferenceArray<Object> elementos;
+    private AtomicLongArray secuencias;
+    private int mascara;
+    private final AtomicLong frente = new AtomicLong();
+    private final AtomicLong fin = new AtomicLong();
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    // Constructor que inicializa la cola vacía
+    public ColaConcurrente() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    // Constructor con capacidad inicial personalizada (se redondea a potencia de 2)
+    // Parámetro: capacidadInicial - Número de elementos que caben sin ampliar
+    public ColaConcurrente(int capacidadInicial) {
+        int capacidad = 2;
+        while (capacidad < capacidadInicial) {
+            capacidad <<= 1;
+        }
+        inicializar(capacidad, 0);
+    }
+
+    private void inicializar(int capacidad, long turnoInicial) {
+        elementos = new AtomicReferenceArray<>(capacidad);
+        secuencias = new AtomicLongArray(capacidad);
+        mascara = capacidad - 1;
+        for (long turno = turnoInicial; turno < turnoInicial + capacidad; turno++) {
+            secuencias.set((int) turno & mascara, turno);
+        }
+    }
+
+    // Agrega un elemento al final de la cola sin bloquear
+    // Parámetro: elemento - El elemento a agregar
+    // Retorna: true si se agregó, false si la cola está llena
+    public boolean ofrecer(T elemento) {
+        long turno = fin.get();
+        int indice;
+        while (true) {
+            indice = (int) turno & mascara;
+            long diferencia = secuencias.get(indice) - turno;
+            if (diferencia == 0) {
+                if (fin.compareAndSet(turno, turno + 1)) {
+                    break;
+                }
+                turno = fin.get();
+            } else if (diferencia < 0) {
+                return false;
+            } else {
+                turno = fin.get();
+            }
+        }
+        elementos.set(indice, elemento);
+        // Publica el elemento: la posición queda lista para el consumidor de este turno
+        secuencias.set(indice, turno + 1);
+        return true;
+    }
+
+    // Elimina y retorna el elemento al frente de la cola sin bloquear
+    // Retorna: El elemento eliminado, o null si la cola está vacía
+    @SuppressWarnings("unchecked")
+    public T sondear() {
+        long turno = frente.get();
+        int indice;
+        while (true) {
+            indice = (int) turno & mascara;
+            long diferencia = secuencias.get(indice) - (turno + 1);
+            if (diferencia == 0) {
+                if (frente.compareAndSet(turno, turno + 1)) {
+                    break;
+                }
+                turno = frente.get();
+            } else if (diferencia < 0) {
+                return null;
+            } else {
+                turno = frente.get();
+            }
+        }
+        T elemento = (T) elementos.get(indice);
+        elementos.set(indice, null);
+        // Libera la posición para el productor de la siguiente vuelta
+        secuencias.set(indice, turno + mascara + 1);
+        return elemento;
+    }
+
+    // Retorna el elemento al frente sin eliminarlo
+    // Retorna: El elemento al frente, o null si la cola está vacía
+    @SuppressWarnings("unchecked")
+    public T frente() {
+        long turno = frente.get();
+        int indice = (int) turno & mascara;
+        if (secuencias.get(indice) != turno + 1) {
+            return null;
+        }
+        return (T) elementos.get(indice);
+    }
+
+    // Retorna el tamaño de la cola (aproximado si hay operaciones concurrentes)
+    // Retorna: Número de elementos en la cola
+    public int tamanio() {
+        long tamanio = fin.get() - frente.get();
+        return (int) Math.max(0, Math.min(tamanio, mascara + 1));
+    }
+
+    // Verifica si la cola está vacía
+    // Retorna: true si la cola está vacía, false en caso contrario
+    public boolean estaVacia() {
+        return tamanio() == 0;
+    }
+
+    // Busca, desde el frente, el primer elemento que cumpla una condición (sin modificar la cola)
+    // Parámetro: condicion - Condición a cumplir
+    // Retorna: El primer elemento que la cumple, o null si ninguno
+    @SuppressWarnings("unchecked")
+    public T buscarPrimero(Predicate<? super T> condicion) {
+        long hasta = fin.get();
+        for (long turno = frente.get(); turno < hasta; turno++) {
+            int indice = (int) turno & mascara;
+            if (secuencias.get(indice) == turno + 1) {
+                T elemento = (T) elementos.get(indice);
+                if (elemento != null && condicion.test(elemento)) {
+                    return elemento;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Obtiene una copia de los elementos desde el frente (sin modificar la cola).
+    // Con consumidores concurrentes la copia omite las posiciones que ya se consumieron.
+    // Retorna: Lista con los elementos
+    public Lista<T> obtenerTodos() {
+        return obtenerTodos(elemento -> elemento);
+    }
+
+    // Obtiene una copia transformada de los elementos desde el frente (sin modificar la cola)
+    // Parámetro: transformacion - Función aplicada a cada elemento; los resultados null se omiten
+    // Retorna: Lista con los elementos transformados
+    @SuppressWarnings("unchecked")
+    public <R> Lista<R> obtenerTodos(Function<? super T, ? extends R> transformacion) {
+        long desde = frente.get();
+        long hasta = fin.get();
+        Lista<R> resultado = new Lista<>((int) Math.max(1, Math.min(hasta - desde, mascara + 1)));
+        for (long turno = desde; turno < hasta; turno++) {
+            int indice = (int) turno & mascara;
+            if (secuencias.get(indice) == turno + 1) {
+                Object elemento = elementos.get(indice);
+                if (elemento != null) {
+                    R transformado = transformacion.apply((T) elemento);
+                    if (transformado != null) {
+                        resultado.agregar(transformado);
+                    }
+                }
+            }
+        }
+        return resultado;
+    }
+
+    // Obtiene una página de elementos desde el frente, saltando por búsqueda binaria los ya entregados
+    // (O(log n + página), sin modificar la cola).
+    // Parámetros: entregado - Condición que cumplen los elementos de páginas anteriores; debe ser
+    //                         monótona (cierta para un prefijo de la cola), por ejemplo "secuencia <= cursor"
+    //             cantidad - Número máximo de elementos en la página
+    //             transformacion - Función aplicada a cada elemento; los resultados null se omiten
+    // Retorna: Lista con los elementos transformados
+    @SuppressWarnings("unchecked")
+    public <R> Lista<R> obtenerPagina(Predicate<? super T> entregado, int cantidad,
+                                      Function<? super T, ? extends R> transformacion) {
+        long inicio = frente.get();
+        long hasta = fin.get();
+        // Las posiciones ya consumidas por otros hilos están al frente: cuentan como entregadas
+        long bajo = inicio;
+        long alto = hasta;
+        while (bajo < alto) {
+            long medio = (bajo + alto) >>> 1;
+            Object elemento = leer(medio);
+            if (elemento == null || entregado.test((T) elemento)) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        Lista<R> resultado = new Lista<>(Math.max(1, Math.min(cantidad, (int) Math.min(hasta - bajo, mascara + 1))));
+        for (long turno = bajo; turno < hasta && resultado.tamanio() < cantidad; turno++) {
+            Object elemento = leer(turno);
+            if (elemento != null) {
+                R transformado = transformacion.apply((T) elemento);
+                if (transformado != null) {
+                    resultado.agregar(transformado);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    // Lee el elemento publicado en un turno, o null si esa posición ya no tiene el elemento del turno
+    private Object leer(long turno) {
+        int indice = (int) turno & mascara;
+        return secuencias.get(indice) == turno + 1 ? elementos.get(indice) : null;
+    }
+
+    // Duplica la capacidad conservando el orden de los elementos.
+    // No es seguro frente a otras operaciones: el llamador debe tener acceso exclusivo a la cola.
+    public void ampliar() {
+        AtomicReferenceArray<Object> anteriores = elementos;
+        int mascaraAnterior = mascara;
+        long desde = frente.get();
+        long hasta = fin.get();
+        inicializar((mascaraAnterior + 1) * 2, desde);
+        for (long turno = desde; turno < hasta; turno++) {
+            int indice = (int) turno & mascara;
+            elementos.set(indice, anteriores.get((int) turno & mascaraAnterior));
+            secuencias.set(indice, turno + 1);
+        }
+    }
+
+    // Obtiene la capacidad actual del buffer
+    public int capacidad() {
+        return mascara + 1;
+    }
+}
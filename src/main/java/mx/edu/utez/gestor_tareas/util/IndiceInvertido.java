@@ -0,0 +1,325 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+// Índice invertido de texto: cada término apunta a los IDs (ordenados) de los documentos que lo contienen.
+// Los textos se dividen en términos (secuencias de letras y dígitos) en minúsculas y sin acentos:
+// se descomponen en NFD y se descartan las marcas diacríticas ("Canción" -> "cancion", "Año" -> "ano").
+// El diccionario es un arreglo ordenado de términos: un término se encuentra por búsqueda binaria y
+// los términos con un mismo prefijo forman un tramo contiguo. Cada lista de IDs es un arreglo
+// ordenado de long, así que una consulta con varios términos (AND) se resuelve intersectando las
+// listas, empezando por la más corta.
+// Para las búsquedas difusas, el vocabulario también se guarda en un árbol BK: cada término de la
+// consulta se expande a los términos del índice a poca distancia de edición ("reunoin" -> "reunion")
+// sin comparar contra todo el diccionario.
+// No es seguro para hilos. Implementado con arrays nativos, sin usar colecciones de java.util.*
+public class IndiceInvertido {
+    private String[] terminos;
+    private long[][] ids;
+    private int[] tamanios;
+    private int numeroTerminos;
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final int CAPACIDAD_INICIAL_IDS = 4;
+    // Lápidas mínimas en el árbol BK antes de reconstruirlo
+    private static final int MINIMO_RECONSTRUCCION = 256;
+    private final ArbolBK vocabulario = new ArbolBK();
+
+    // Constructor que inicializa el índice vacío
+    public IndiceInvertido() {
+        this.terminos = new String[CAPACIDAD_INICIAL];
+        this.ids = new long[CAPACIDAD_INICIAL][];
+        this.tamanios = new int[CAPACIDAD_INICIAL];
+        this.numeroTerminos = 0;
+    }
+
+    // Agrega un documento con los términos de sus textos
+    // Parámetros: id - ID del documento, textos - Textos del documento (los null se ignoran)
+    public void agregar(long id, String... textos) {
+        for (String texto : textos) {
+            for (String termino : terminos(texto)) {
+                agregarId(termino, id);
+            }
+        }
+    }
+
+    // Quita un documento de los términos de sus textos (los mismos con que se agregó)
+    // Parámetros: id - ID del documento, textos - Textos del documento (los null se ignoran)
+    public void eliminar(long id, String... textos) {
+        for (String texto : textos) {
+            for (String termino : terminos(texto)) {
+                eliminarId(termino, id);
+            }
+        }
+    }
+
+    // Busca los documentos que contienen todos los términos de la consulta; cada término de la
+    // consulta coincide con los términos del índice que empiezan con él ("tar" encuentra "tarea")
+    // Parámetro: consulta - Texto de la consulta
+    // Retorna: IDs ordenados de los documentos que coinciden, o null si la consulta no tiene términos
+    public long[] buscar(String consulta) {
+        return buscar(consulta, false);
+    }
+
+    // Igual que buscar(consulta), pero con difuso = true cada término de la consulta también
+    // coincide con los términos del índice a distancia de edición menor o igual a tolerancia(término)
+    // Parámetros: consulta - Texto de la consulta, difuso - true para tolerar errores de escritura
+    // Retorna: IDs ordenados de los documentos que coinciden, o null si la consulta no tiene términos
+    public long[] buscar(String consulta, boolean difuso) {
+        Lista<String> buscados = terminos(consulta);
+        if (buscados.estaVacia()) {
+            return null;
+        }
+        long[][] conjuntos = new long[buscados.tamanio()][];
+        int menor = 0;
+        for (int i = 0; i < conjuntos.length; i++) {
+            String buscado = buscados.obtener(i);
+            conjuntos[i] = difuso ? idsParecidos(buscado) : idsConPrefijo(buscado);
+            if (conjuntos[i].length < conjuntos[menor].length) {
+                menor = i;
+            }
+        }
+        long[] resultado = conjuntos[menor];
+        for (int i = 0; i < conjuntos.length && resultado.length > 0; i++) {
+            if (i != menor) {
+                resultado = intersectar(resultado, conjuntos[i]);
+            }
+        }
+        return resultado;
+    }
+
+    // Retorna el número de términos distintos en el índice
+    public int numeroTerminos() {
+        return numeroTerminos;
+    }
+
+    // Retorna el árbol BK del vocabulario (para consultar sus estadísticas)
+    public ArbolBK vocabulario() {
+        return vocabulario;
+    }
+
+    // Limpia todos los términos del índice
+    public void limpiar() {
+        for (int i = 0; i < numeroTerminos; i++) {
+            terminos[i] = null;
+            ids[i] = null;
+        }
+        numeroTerminos = 0;
+        vocabulario.limpiar();
+    }
+
+    // Distancia de edición que se tolera para un término: ninguna hasta 2 caracteres,
+    // 1 hasta 5 y 2 a partir de 6
+    public static int tolerancia(String termino) {
+        int longitud = termino.length();
+        return longitud <= 2 ? 0 : longitud <= 5 ? 1 : 2;
+    }
+
+    // Divide un texto en términos normalizados (minúsculas, sin acentos), en orden y con repeticiones
+    // Parámetro: texto - Texto a dividir (null se trata como vacío)
+    // Retorna: Lista de términos
+    public static Lista<String> terminos(String texto) {
+        Lista<String> resultado = new Lista<>();
+        if (texto == null || texto.isEmpty()) {
+            return resultado;
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder actual = new StringBuilder();
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char caracter = descompuesto.charAt(i);
+            if (Character.isLetterOrDigit(caracter)) {
+                actual.append(Character.toLowerCase(caracter));
+            } else if (Character.getType(caracter) != Character.NON_SPACING_MARK && actual.length() > 0) {
+                resultado.agregar(actual.toString());
+                actual.setLength(0);
+            }
+        }
+        if (actual.length() > 0) {
+            resultado.agregar(actual.toString());
+        }
+        return resultado;
+    }
+
+    // Agrega un ID a la lista de un término, creando el término si no existe
+    private void agregarId(String termino, long id) {
+        int posicion = buscarTermino(termino);
+        if (posicion < 0) {
+            posicion = -(posicion + 1);
+            insertarTermino(posicion, termino);
+        }
+        long[] lista = ids[posicion];
+        int tamanio = tamanios[posicion];
+        int indice = Arrays.binarySearch(lista, 0, tamanio, id);
+        if (indice >= 0) {
+            // El término aparece más de una vez en el documento
+            return;
+        }
+        indice = -(indice + 1);
+        if (tamanio == lista.length) {
+            lista = Arrays.copyOf(lista, tamanio * 2);
+            ids[posicion] = lista;
+        }
+        System.arraycopy(lista, indice, lista, indice + 1, tamanio - indice);
+        lista[indice] = id;
+        tamanios[posicion] = tamanio + 1;
+    }
+
+    // Quita un ID de la lista de un término, y el término si se queda sin documentos
+    private void eliminarId(String termino, long id) {
+        int posicion = buscarTermino(termino);
+        if (posicion < 0) {
+            return;
+        }
+        long[] lista = ids[posicion];
+        int tamanio = tamanios[posicion];
+        int indice = Arrays.binarySearch(lista, 0, tamanio, id);
+        if (indice < 0) {
+            return;
+        }
+        System.arraycopy(lista, indice + 1, lista, indice, tamanio - indice - 1);
+        tamanios[posicion] = tamanio - 1;
+        if (tamanio == 1) {
+            quitarTermino(posicion);
+        }
+    }
+
+    // IDs (ordenados, sin repetir) de los términos que empiezan con un prefijo
+    private long[] idsConPrefijo(String prefijo) {
+        int inicio = buscarTermino(prefijo);
+        if (inicio < 0) {
+            inicio = -(inicio + 1);
+        }
+        int fin = inicio;
+        int total = 0;
+        while (fin < numeroTerminos && terminos[fin].startsWith(prefijo)) {
+            total += tamanios[fin];
+            fin++;
+        }
+        long[] union = new long[total];
+        int ocupados = 0;
+        for (int i = inicio; i < fin; i++) {
+            System.arraycopy(ids[i], 0, union, ocupados, tamanios[i]);
+            ocupados += tamanios[i];
+        }
+        if (fin - inicio <= 1) {
+            return union;
+        }
+        // Un documento puede tener varios términos con el mismo prefijo
+        Arrays.sort(union);
+        int distintos = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (i == 0 || union[i] != union[i - 1]) {
+                union[distintos++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, distintos);
+    }
+
+    // IDs (ordenados, sin repetir) de los términos que empiezan con el término buscado o que están
+    // a distancia de edición tolerable de él
+    private long[] idsParecidos(String buscado) {
+        long[] resultado = idsConPrefijo(buscado);
+        for (String parecido : vocabulario.buscar(buscado, tolerancia(buscado))) {
+            if (!parecido.startsWith(buscado)) {
+                int posicion = buscarTermino(parecido);
+                resultado = unir(resultado, ids[posicion], tamanios[posicion]);
+            }
+        }
+        return resultado;
+    }
+
+    // Unión de dos arreglos ordenados sin repetir (del segundo solo se usan los primeros "tamanio")
+    private static long[] unir(long[] a, long[] b, int tamanio) {
+        long[] resultado = new long[a.length + tamanio];
+        int i = 0;
+        int j = 0;
+        int total = 0;
+        while (i < a.length || j < tamanio) {
+            if (j == tamanio || (i < a.length && a[i] < b[j])) {
+                resultado[total++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                resultado[total++] = b[j++];
+            } else {
+                resultado[total++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(resultado, total);
+    }
+
+    // Intersección de dos arreglos ordenados: recorre el menor y busca cada ID en el mayor
+    private static long[] intersectar(long[] menor, long[] mayor) {
+        if (menor.length > mayor.length) {
+            return intersectar(mayor, menor);
+        }
+        long[] resultado = new long[menor.length];
+        int comunes = 0;
+        int desde = 0;
+        for (long id : menor) {
+            int indice = Arrays.binarySearch(mayor, desde, mayor.length, id);
+            if (indice >= 0) {
+                resultado[comunes++] = id;
+                desde = indice + 1;
+            } else {
+                desde = -(indice + 1);
+            }
+        }
+        return Arrays.copyOf(resultado, comunes);
+    }
+
+    // Búsqueda binaria en el diccionario
+    // Retorna: Posición del término, o -(punto de inserción + 1) si no está
+    private int buscarTermino(String termino) {
+        int inicio = 0;
+        int fin = numeroTerminos - 1;
+        while (inicio <= fin) {
+            int medio = (inicio + fin) >>> 1;
+            int comparacion = terminos[medio].compareTo(termino);
+            if (comparacion < 0) {
+                inicio = medio + 1;
+            } else if (comparacion > 0) {
+                fin = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(inicio + 1);
+    }
+
+    private void insertarTermino(int posicion, String termino) {
+        if (numeroTerminos == terminos.length) {
+            int nuevaCapacidad = terminos.length * 2;
+            terminos = Arrays.copyOf(terminos, nuevaCapacidad);
+            ids = Arrays.copyOf(ids, nuevaCapacidad);
+            tamanios = Arrays.copyOf(tamanios, nuevaCapacidad);
+        }
+        int desplazados = numeroTerminos - posicion;
+        System.arraycopy(terminos, posicion, terminos, posicion + 1, desplazados);
+        System.arraycopy(ids, posicion, ids, posicion + 1, desplazados);
+        System.arraycopy(tamanios, posicion, tamanios, posicion + 1, desplazados);
+        terminos[posicion] = termino;
+        ids[posicion] = new long[CAPACIDAD_INICIAL_IDS];
+        tamanios[posicion] = 0;
+        numeroTerminos++;
+        vocabulario.agregar(termino);
+    }
+
+    private void quitarTermino(int posicion) {
+        vocabulario.eliminar(terminos[posicion]);
+        int desplazados = numeroTerminos - posicion - 1;
+        System.arraycopy(terminos, posicion + 1, terminos, posicion, desplazados);
+        System.arraycopy(ids, posicion + 1, ids, posicion, desplazados);
+        System.arraycopy(tamanios, posicion + 1, tamanios, posicion, desplazados);
+        numeroTerminos--;
+        terminos[numeroTerminos] = null;
+        ids[numeroTerminos] = null;
+        // Las lápidas alargan las búsquedas en el árbol BK: si ya son más que los términos vigentes,
+        // se reconstruye con el diccionario actual
+        if (vocabulario.eliminados() > MINIMO_RECONSTRUCCION && vocabulario.eliminados() > numeroTerminos) {
+            vocabulario.limpiar();
+            for (int i = 0; i < numeroTerminos; i++) {
+                vocabulario.agregar(terminos[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package mx.edu.utez.gestor_tareas.util;
+
+// Índice ordenado de pares (clave, ID) sobre claves long, para consultas por rango.
+// Los pares se guardan en dos arreglos paralelos ordenados por clave y, a igual clave, por ID:
+// un rango de claves es un tramo contiguo que se ubica con dos búsquedas binarias.
+// Insertar al final (claves crecientes, como las fechas de creación) no desplaza nada; insertar
+// o eliminar en medio desplaza los pares siguientes.
+// No es seguro para hilos. Implementado con arrays nativos, sin usar colecciones de java.util.*
+public class IndiceOrdenado {
+    private long[] claves;
+    private long[] ids;
+    private int tamanio;
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    // Constructor que inicializa el índice vacío
+    public IndiceOrdenado() {
+        this.claves = new long[CAPACIDAD_INICIAL];
+        this.ids = new long[CAPACIDAD_INICIAL];
+        this.tamanio = 0;
+    }
+
+    // Agrega un par (clave, ID) en su posición ordenada
+    public void insertar(long clave, long id) {
+        int posicion = buscar(clave, id);
+        if (posicion >= 0) {
+            return;
+        }
+        posicion = -(posicion + 1);
+        if (tamanio == claves.length) {
+            long[] nuevasClaves = new long[tamanio * 2];
+            long[] nuevosIds = new long[tamanio * 2];
+            System.arraycopy(claves, 0, nuevasClaves, 0, tamanio);
+            System.arraycopy(ids, 0, nuevosIds, 0, tamanio);
+            claves = nuevasClaves;
+            ids = nuevosIds;
+        }
+        System.arraycopy(claves, posicion, claves, posicion + 1, tamanio - posicion);
+        System.arraycopy(ids, posicion, ids, posicion + 1, tamanio - posicion);
+        claves[posicion] = clave;
+        ids[posicion] = id;
+        tamanio++;
+    }
+
+    // Quita un par (clave, ID); la clave debe ser la misma con que se insertó
+    // Retorna: true si se eliminó, false si no estaba
+    public boolean eliminar(long clave, long id) {
+        int posicion = buscar(clave, id);
+        if (posicion < 0) {
+            return false;
+        }
+        System.arraycopy(claves, posicion + 1, claves, posicion, tamanio - posicion - 1);
+        System.arraycopy(ids, posicion + 1, ids, posicion, tamanio - posicion - 1);
+        tamanio--;
+        return true;
+    }
+
+    // Retorna la primera posición con clave mayor o igual a la dada
+    public int inicio(long desde) {
+        int inicio = 0;
+        int fin = tamanio;
+        while (inicio < fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (claves[medio] < desde) {
+                inicio = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return inicio;
+    }
+
+    // Retorna la primera posición con clave mayor a la dada (fin exclusivo de un rango que incluye "hasta")
+    public int fin(long hasta) {
+        int inicio = 0;
+        int fin = tamanio;
+        while (inicio < fin) {
+            int medio = (inicio + fin) >>> 1;
+            if (claves[medio] <= hasta) {
+                inicio = medio + 1;
+            } else {
+                fin = medio;
+            }
+        }
+        return inicio;
+    }
+
+    // Obtiene el ID guardado en una posición
+    public long id(int posicion) {
+        if (posicion < 0 || posicion >= tamanio) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + posicion);
+        }
+        return ids[posicion];
+    }
+
+    // Retorna el número de pares en el índice
+    public int tamanio() {
+        return tamanio;
+    }
+
+    // Búsqueda binaria por (clave, ID)
+    // Retorna: Posición del par, o -(punto de inserción + 1) si no está
+    private int buscar(long clave, long id) {
+        int inicio = 0;
+        int fin = tamanio - 1;
+        while (inicio <= fin) {
+            int medio = (inicio + fin) >>> 1;
+            int comparacion = claves[medio] != clave ? Long.compare(claves[medio], clave) : Long.compare(ids[medio], id);
+            if (comparacion < 0) {
+                inicio = medio + 1;
+            } else if (comparacion > 0) {
+                fin = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(inicio + 1);
+    }
+}
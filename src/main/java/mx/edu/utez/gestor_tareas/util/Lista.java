@@ -1,9 +1,19 @@
 package mx.edu.utez.gestor_tareas.util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 // Implementación de una estructura de datos Lista/Arreglo dinámico usando arrays nativos.
 // Permite almacenar, agregar, eliminar, buscar y mostrar elementos.
-// No utiliza clases de java.util.*
-public class Lista<T> {
+// Los movimientos de elementos (inserción, eliminación y redimensionamiento) se hacen
+// en bloque con System.arraycopy.
+// Es Iterable y ofrece un Spliterator divisible, de modo que se puede recorrer
+// (for-each, Jackson, streams paralelos) sin copiar el array interno.
+// No utiliza colecciones de java.util.* (solo las interfaces Iterator, Spliterator y Predicate)
+public class Lista<T> implements Iterable<T> {
     private Object[] elementos;
     private int tamanio;
     private static final int CAPACIDAD_INICIAL = 10;
@@ -21,6 +31,13 @@ public class Lista<T> {
         this.tamanio = 0;
     }
 
+    // Constructor que adopta un array ya copiado (uso interno de las estructuras)
+    // Parámetros: elementos - Array con los elementos, tamanio - Número de posiciones ocupadas
+    Lista(Object[] elementos, int tamanio) {
+        this.elementos = elementos.length == 0 ? new Object[CAPACIDAD_INICIAL] : elementos;
+        this.tamanio = tamanio;
+    }
+
     // Agrega un elemento al final de la lista
     // Parámetro: elemento - El elemento a agregar
     public void agregar(T elemento) {
@@ -40,9 +57,7 @@ public class Lista<T> {
         if (tamanio >= elementos.length) {
             redimensionar();
         }
-        for (int i = tamanio; i > indice; i--) {
-            elementos[i] = elementos[i - 1];
-        }
+        System.arraycopy(elementos, indice, elementos, indice + 1, tamanio - indice);
         elementos[indice] = elemento;
         tamanio++;
     }
@@ -56,14 +71,28 @@ public class Lista<T> {
             throw new IndexOutOfBoundsException("Índice fuera de rango: " + indice);
         }
         T elementoEliminado = (T) elementos[indice];
-        for (int i = indice; i < tamanio - 1; i++) {
-            elementos[i] = elementos[i + 1];
-        }
+        System.arraycopy(elementos, indice + 1, elementos, indice, tamanio - indice - 1);
         elementos[tamanio - 1] = null;
         tamanio--;
         return elementoEliminado;
     }
 
+    // Elimina un elemento por índice sin conservar el orden: el último elemento ocupa su lugar.
+    // Es O(1) y sirve para los usos en los que el orden de la lista no importa.
+    // Parámetro: indice - Índice del elemento a eliminar
+    // Retorna: El elemento eliminado
+    @SuppressWarnings("unchecked")
+    public T eliminarSinOrden(int indice) {
+        if (indice < 0 || indice >= tamanio) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + indice);
+        }
+        T elementoEliminado = (T) elementos[indice];
+        tamanio--;
+        elementos[indice] = elementos[tamanio];
+        elementos[tamanio] = null;
+        return elementoEliminado;
+    }
+
     // Elimina un elemento por referencia (primera ocurrencia)
     // Parámetro: elemento - Elemento a eliminar
     // Retorna: true si se eliminó, false si no se encontró
@@ -76,6 +105,51 @@ public class Lista<T> {
         return false;
     }
 
+    // Elimina todos los elementos que cumplan una condición en una sola pasada:
+    // los elementos que se conservan se compactan hacia el inicio sin cambiar su orden
+    // Parámetro: condicion - Condición que deben cumplir los elementos a eliminar
+    // Retorna: Número de elementos eliminados
+    @SuppressWarnings("unchecked")
+    public int eliminarSi(Predicate<? super T> condicion) {
+        int destino = 0;
+        for (int i = 0; i < tamanio; i++) {
+            T elemento = (T) elementos[i];
+            if (!condicion.test(elemento)) {
+                elementos[destino++] = elemento;
+            }
+        }
+        int eliminados = tamanio - destino;
+        for (int i = destino; i < tamanio; i++) {
+            elementos[i] = null;
+        }
+        tamanio = destino;
+        return eliminados;
+    }
+
+    // Agrega al final todos los elementos de otra lista con una sola copia en bloque
+    // Parámetro: otra - Lista con los elementos a agregar
+    public void agregarTodos(Lista<? extends T> otra) {
+        int cantidad = otra.tamanio;
+        asegurarCapacidad(tamanio + cantidad);
+        System.arraycopy(otra.elementos, 0, elementos, tamanio, cantidad);
+        tamanio += cantidad;
+    }
+
+    // Garantiza que la lista pueda contener la cantidad indicada de elementos sin redimensionarse
+    // Parámetro: capacidadMinima - Número de elementos que debe poder contener
+    public void asegurarCapacidad(int capacidadMinima) {
+        if (capacidadMinima > elementos.length) {
+            redimensionar(Math.max(capacidadMinima, elementos.length * 2));
+        }
+    }
+
+    // Reduce el array interno al tamaño actual para liberar memoria
+    public void recortar() {
+        if (tamanio < elementos.length) {
+            redimensionar(Math.max(tamanio, 1));
+        }
+    }
+
     // Obtiene un elemento por índice
     // Parámetro: indice - Índice del elemento
     // Retorna: El elemento en esa posición
@@ -111,12 +185,29 @@ public class Lista<T> {
     @SuppressWarnings("unchecked")
     public T[] obtenerTodos() {
         Object[] resultado = new Object[tamanio];
-        for (int i = 0; i < tamanio; i++) {
-            resultado[i] = elementos[i];
-        }
+        System.arraycopy(elementos, 0, resultado, 0, tamanio);
         return (T[]) resultado;
     }
 
+    // Obtiene una copia de un tramo de la lista (una sola copia en bloque)
+    // Parámetros: desde - Primera posición (se ajusta al rango válido), cantidad - Número máximo de elementos
+    // Retorna: Nueva lista con los elementos del tramo
+    public Lista<T> obtenerRango(int desde, int cantidad) {
+        int inicio = Math.max(0, Math.min(desde, tamanio));
+        int total = Math.max(0, Math.min(cantidad, tamanio - inicio));
+        Object[] copia = new Object[total];
+        System.arraycopy(elementos, inicio, copia, 0, total);
+        return new Lista<>(copia, total);
+    }
+
+    // Obtiene una copia independiente de la lista (una sola copia en bloque)
+    // Retorna: Nueva lista con los mismos elementos
+    public Lista<T> copia() {
+        Object[] copia = new Object[tamanio];
+        System.arraycopy(elementos, 0, copia, 0, tamanio);
+        return new Lista<>(copia, tamanio);
+    }
+
     // Obtiene el tamaño actual de la lista
     // Retorna: Número de elementos
     public int tamanio() {
@@ -140,14 +231,33 @@ public class Lista<T> {
     // Redimensiona el array interno cuando se llena
     // Duplica la capacidad actual
     private void redimensionar() {
-        int nuevaCapacidad = elementos.length * 2;
+        redimensionar(Math.max(elementos.length * 2, CAPACIDAD_INICIAL));
+    }
+
+    private void redimensionar(int nuevaCapacidad) {
         Object[] nuevoArray = new Object[nuevaCapacidad];
-        for (int i = 0; i < tamanio; i++) {
-            nuevoArray[i] = elementos[i];
-        }
+        System.arraycopy(elementos, 0, nuevoArray, 0, tamanio);
         elementos = nuevoArray;
     }
 
+    // Recorre los elementos sin copiarlos
+    @Override
+    public Iterator<T> iterator() {
+        return new RecorridoArreglo<>(elementos, 0, 0, tamanio);
+    }
+
+    // Spliterator con tamaño conocido que se divide por mitades para procesamiento paralelo
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RecorridoArreglo<>(elementos, 0, 0, tamanio);
+    }
+
+    // Obtiene un stream sobre los elementos sin copiarlos
+    // Parámetro: paralelo - true para procesar en paralelo
+    public Stream<T> flujo(boolean paralelo) {
+        return StreamSupport.stream(spliterator(), paralelo);
+    }
+
     public Object[] toArray() {
         return obtenerTodos();
     }
@@ -0,0 +1,109 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import java.util.Arrays;
+
+// Mapa de bits: conjunto de enteros no negativos guardado como un bit por valor en palabras long.
+// Sirve como índice compacto: un bit por ID de tarea (8 bytes cubren 64 IDs), y las combinaciones
+// de filtros se resuelven palabra por palabra con AND y OR en lugar de comparar tarea por tarea.
+// Crece al activar un bit más allá del final; los bits fuera del arreglo se consideran apagados.
+// No es seguro para hilos. Implementado con arrays nativos, sin usar colecciones de java.util.*
+public class MapaBits {
+    private long[] palabras;
+
+    // Constructor que inicializa el mapa vacío
+    public MapaBits() {
+        this.palabras = new long[1];
+    }
+
+    private MapaBits(long[] palabras) {
+        this.palabras = palabras;
+    }
+
+    // Enciende el bit de un valor
+    public void activar(int valor) {
+        int palabra = valor >>> 6;
+        if (palabra >= palabras.length) {
+            palabras = Arrays.copyOf(palabras, Math.max(palabra + 1, palabras.length * 2));
+        }
+        palabras[palabra] |= 1L << valor;
+    }
+
+    // Apaga el bit de un valor
+    public void desactivar(int valor) {
+        int palabra = valor >>> 6;
+        if (palabra < palabras.length) {
+            palabras[palabra] &= ~(1L << valor);
+        }
+    }
+
+    // Verifica si el bit de un valor está encendido
+    public boolean contiene(int valor) {
+        int palabra = valor >>> 6;
+        return palabra < palabras.length && (palabras[palabra] & (1L << valor)) != 0;
+    }
+
+    // Obtiene el primer valor encendido mayor o igual a uno dado
+    // Parámetro: desde - Valor inicial
+    // Retorna: El valor encontrado, o -1 si no hay más
+    public int siguiente(int desde) {
+        int palabra = desde >>> 6;
+        if (palabra >= palabras.length) {
+            return -1;
+        }
+        // Descarta los bits anteriores a "desde" en la primera palabra
+        long bits = palabras[palabra] & (-1L << desde);
+        while (true) {
+            if (bits != 0) {
+                return (palabra << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++palabra == palabras.length) {
+                return -1;
+            }
+            bits = palabras[palabra];
+        }
+    }
+
+    // Retorna el número de bits encendidos
+    public int cardinalidad() {
+        int total = 0;
+        for (long palabra : palabras) {
+            total += Long.bitCount(palabra);
+        }
+        return total;
+    }
+
+    // Intersección con otro mapa (modifica este mapa)
+    // Retorna: Este mapa
+    public MapaBits y(MapaBits otro) {
+        int comunes = Math.min(palabras.length, otro.palabras.length);
+        for (int i = 0; i < comunes; i++) {
+            palabras[i] &= otro.palabras[i];
+        }
+        for (int i = comunes; i < palabras.length; i++) {
+            palabras[i] = 0;
+        }
+        return this;
+    }
+
+    // Unión con otro mapa (modifica este mapa)
+    // Retorna: Este mapa
+    public MapaBits o(MapaBits otro) {
+        if (otro.palabras.length > palabras.length) {
+            palabras = Arrays.copyOf(palabras, otro.palabras.length);
+        }
+        for (int i = 0; i < otro.palabras.length; i++) {
+            palabras[i] |= otro.palabras[i];
+        }
+        return this;
+    }
+
+    // Retorna una copia independiente del mapa
+    public MapaBits copia() {
+        return new MapaBits(palabras.clone());
+    }
+
+    // Apaga todos los bits
+    public void limpiar() {
+        palabras = new long[1];
+    }
+}
@@ -1,30 +1,70 @@
 package mx.edu.utez.gestor_tareas.util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 // Implementación de una estructura de datos Pila (Stack) usando LIFO (Last In, First Out).
 // El último elemento ingresado es el primero en salir.
 // Utilizada para mantener un historial de acciones realizadas en el sistema.
-// Implementada con arrays nativos, sin usar clases de java.util.*
-public class Pila<T> {
+// Se recorre desde la base hasta la cima (mismo orden que obtenerTodos) sin copiar los elementos.
+// Opcionalmente es acotada: al llegar a la capacidad máxima, cada push desaloja el elemento
+// de la base y lo entrega a un consumidor (por ejemplo, para guardarlo en disco). En ese modo
+// el array funciona como buffer circular y la base avanza en lugar de desplazar los elementos.
+// Cada elemento tiene una posición absoluta (elementos desalojados por debajo + posición desde
+// la base) que no cambia al apilar ni al desalojar, y sirve como cursor para paginar.
+// Implementada con arrays nativos, sin usar colecciones de java.util.*
+public class Pila<T> implements Iterable<T> {
     private Object[] elementos;
-    private int tope;
+    private int base;
+    private int tamanio;
     private int capacidad;
+    private long desalojados;
+    private final int capacidadMaxima;
+    private final Consumer<? super T> alDesalojar;
     private static final int CAPACIDAD_INICIAL = 10;
 
-    // Constructor que inicializa la pila vacía
+    // Constructor que inicializa la pila vacía (sin límite de elementos)
     public Pila() {
-        this.capacidad = CAPACIDAD_INICIAL;
+        this(Integer.MAX_VALUE, null);
+    }
+
+    // Constructor de una pila acotada
+    // Parámetros: capacidadMaxima - Número máximo de elementos que se conservan,
+    //             alDesalojar - Recibe el elemento de la base cuando se desaloja (puede ser null)
+    public Pila(int capacidadMaxima, Consumer<? super T> alDesalojar) {
+        if (capacidadMaxima < 1) {
+            throw new IllegalArgumentException("La capacidad máxima debe ser al menos 1");
+        }
+        this.capacidadMaxima = capacidadMaxima;
+        this.alDesalojar = alDesalojar;
+        this.capacidad = Math.min(CAPACIDAD_INICIAL, capacidadMaxima);
         this.elementos = new Object[capacidad];
-        this.tope = -1;
+        this.base = 0;
+        this.tamanio = 0;
     }
 
     // Agrega un elemento a la parte superior de la pila (push)
+    // Si la pila acotada está llena, primero desaloja el elemento de la base
     // Parámetro: elemento - El elemento a agregar
+    @SuppressWarnings("unchecked")
     public void push(T elemento) {
-        if (tope >= capacidad - 1) {
-            redimensionar();
+        if (tamanio == capacidad) {
+            if (capacidad < capacidadMaxima) {
+                redimensionar();
+            } else {
+                T desalojado = (T) elementos[base];
+                elementos[base] = null;
+                base = siguiente(base);
+                tamanio--;
+                desalojados++;
+                if (alDesalojar != null) {
+                    alDesalojar.accept(desalojado);
+                }
+            }
         }
-        tope++;
-        elementos[tope] = elemento;
+        elementos[fisica(tamanio)] = elemento;
+        tamanio++;
     }
 
     // Elimina y retorna el elemento en la parte superior de la pila (pop)
@@ -34,9 +74,10 @@ public class Pila<T> {
         if (estaVacia()) {
             return null;
         }
-        T elemento = (T) elementos[tope];
-        elementos[tope] = null;
-        tope--;
+        int cima = fisica(tamanio - 1);
+        T elemento = (T) elementos[cima];
+        elementos[cima] = null;
+        tamanio--;
         return elemento;
     }
 
@@ -47,51 +88,109 @@ public class Pila<T> {
         if (estaVacia()) {
             return null;
         }
-        return (T) elementos[tope];
+        return (T) elementos[fisica(tamanio - 1)];
     }
 
     // Verifica si la pila está vacía
     // Retorna: true si la pila está vacía, false en caso contrario
     public boolean estaVacia() {
-        return tope == -1;
+        return tamanio == 0;
     }
 
     // Retorna el tamaño de la pila
     // Retorna: Número de elementos en la pila
     public int tamanio() {
-        return tope + 1;
+        return tamanio;
+    }
+
+    // Retorna el número máximo de elementos que conserva la pila
+    public int capacidadMaxima() {
+        return capacidadMaxima;
+    }
+
+    // Retorna la posición absoluta del elemento de la base (número de elementos desalojados)
+    public long posicionBase() {
+        return desalojados;
+    }
+
+    // Obtiene los elementos con posición absoluta menor a la indicada, desde la cima hacia la base
+    // (sin modificar la pila). Cuesta O(cantidad): la posición se traduce directo al buffer.
+    // Parámetros: antesDe - Posición absoluta límite (excluida), cantidad - Número máximo de elementos
+    // Retorna: Lista con los elementos, el más cercano a la cima primero
+    public Lista<T> obtenerAnteriores(long antesDe, int cantidad) {
+        long limite = Math.min(antesDe, desalojados + tamanio) - desalojados;
+        return obtenerUltimos(cantidad, (int) Math.max(0, limite));
     }
 
     // Obtiene todos los elementos de la pila (sin modificar la pila)
+    // El buffer se copia en a lo sumo dos bloques: de la base al final del array y desde el inicio
     // Retorna: Lista con todos los elementos
     public Lista<T> obtenerTodos() {
-        Lista<T> resultado = new Lista<>();
-        for (int i = 0; i <= tope; i++) {
-            @SuppressWarnings("unchecked")
-            T elemento = (T) elementos[i];
-            resultado.agregar(elemento);
+        Object[] copia = new Object[tamanio];
+        int primerBloque = Math.min(tamanio, capacidad - base);
+        System.arraycopy(elementos, base, copia, 0, primerBloque);
+        System.arraycopy(elementos, 0, copia, primerBloque, tamanio - primerBloque);
+        return new Lista<>(copia, tamanio);
+    }
+
+    // Obtiene los elementos más recientes, desde la cima hacia la base (sin modificar la pila)
+    // Parámetro: cantidad - Número máximo de elementos
+    // Retorna: Lista con los elementos, el de la cima primero
+    public Lista<T> obtenerUltimos(int cantidad) {
+        return obtenerUltimos(cantidad, tamanio);
+    }
+
+    // Copia hasta "cantidad" elementos hacia la base empezando por debajo de la posición lógica "hasta"
+    @SuppressWarnings("unchecked")
+    private Lista<T> obtenerUltimos(int cantidad, int hasta) {
+        int total = Math.max(0, Math.min(cantidad, hasta));
+        Lista<T> ultimos = new Lista<>(Math.max(total, 1));
+        for (int i = 0; i < total; i++) {
+            ultimos.agregar((T) elementos[fisica(hasta - 1 - i)]);
         }
-        return resultado;
+        return ultimos;
+    }
+
+    // Recorre los elementos desde la base hasta la cima sin copiarlos
+    @Override
+    public Iterator<T> iterator() {
+        return new RecorridoArreglo<>(elementos, base, 0, tamanio);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new RecorridoArreglo<>(elementos, base, 0, tamanio);
     }
 
     // Limpia todos los elementos de la pila
     public void limpiar() {
-        for (int i = 0; i <= tope; i++) {
-            elementos[i] = null;
+        for (int i = 0; i < tamanio; i++) {
+            elementos[fisica(i)] = null;
         }
-        tope = -1;
+        base = 0;
+        tamanio = 0;
+    }
+
+    // Posición física en el array del elemento lógico indicado (0 = base)
+    private int fisica(int posicion) {
+        int indice = base + posicion;
+        return indice >= capacidad ? indice - capacidad : indice;
+    }
+
+    private int siguiente(int indice) {
+        return indice + 1 == capacidad ? 0 : indice + 1;
     }
 
     // Redimensiona el array interno cuando se llena
-    // Duplica la capacidad actual
+    // Duplica la capacidad actual (sin pasar de la capacidad máxima) y deja la base en 0
     private void redimensionar() {
-        int nuevaCapacidad = capacidad * 2;
+        int nuevaCapacidad = (int) Math.min((long) capacidad * 2, capacidadMaxima);
         Object[] nuevoArray = new Object[nuevaCapacidad];
-        for (int i = 0; i <= tope; i++) {
-            nuevoArray[i] = elementos[i];
-        }
+        int primerBloque = Math.min(tamanio, capacidad - base);
+        System.arraycopy(elementos, base, nuevoArray, 0, primerBloque);
+        System.arraycopy(elementos, 0, nuevoArray, primerBloque, tamanio - primerBloque);
         elementos = nuevoArray;
         capacidad = nuevaCapacidad;
+        base = 0;
     }
 }
-
@@ -0,0 +1,91 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Recorrido sobre el array interno de Lista, Pila y Cola sin copiar los elementos.
+// Funciona como Iterator (para for-each y Jackson) y como Spliterator divisible
+// (para streams paralelos): cada división entrega la mitad de las posiciones restantes.
+// Las posiciones son lógicas; la física se calcula sumando un desplazamiento módulo
+// la longitud del array, lo que permite recorrer el buffer circular de la Cola.
+// No debe usarse mientras la estructura se modifica.
+class RecorridoArreglo<T> implements Iterator<T>, Spliterator<T> {
+    private final Object[] elementos;
+    private final int desplazamiento;
+    private int actual;
+    private final int fin;
+
+    // Parámetros: elementos - Array interno, desplazamiento - Posición física del elemento lógico 0,
+    // inicio - Primera posición lógica (incluida), fin - Última posición lógica (excluida)
+    RecorridoArreglo(Object[] elementos, int desplazamiento, int inicio, int fin) {
+        this.elementos = elementos;
+        this.desplazamiento = desplazamiento;
+        this.actual = inicio;
+        this.fin = fin;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementoEn(int posicion) {
+        int fisica = desplazamiento + posicion;
+        if (fisica >= elementos.length) {
+            fisica -= elementos.length;
+        }
+        return (T) elementos[fisica];
+    }
+
+    // ========== ITERATOR ==========
+
+    @Override
+    public boolean hasNext() {
+        return actual < fin;
+    }
+
+    @Override
+    public T next() {
+        if (actual >= fin) {
+            throw new NoSuchElementException();
+        }
+        return elementoEn(actual++);
+    }
+
+    // ========== SPLITERATOR ==========
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> accion) {
+        if (actual >= fin) {
+            return false;
+        }
+        accion.accept(elementoEn(actual++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> accion) {
+        while (actual < fin) {
+            accion.accept(elementoEn(actual++));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int medio = (actual + fin) >>> 1;
+        if (medio <= actual) {
+            return null;
+        }
+        RecorridoArreglo<T> primeraMitad = new RecorridoArreglo<>(elementos, desplazamiento, actual, medio);
+        actual = medio;
+        return primeraMitad;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fin - actual;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
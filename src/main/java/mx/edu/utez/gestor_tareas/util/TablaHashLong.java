@@ -0,0 +1,162 @@
+package mx.edu.utez.gestor_tareas.util;
+
+// Implementación de una Tabla Hash con claves primitivas long y direccionamiento abierto.
+// Permite asociar un identificador numérico con un elemento y consultarlo en tiempo constante.
+// Las claves se guardan en un arreglo long[] (sin boxing) y las colisiones se resuelven
+// con sondeo lineal; al eliminar se desplazan los elementos siguientes en lugar de usar marcas.
+// Implementada con arrays nativos, sin usar clases de java.util.*
+public class TablaHashLong<V> {
+    private long[] claves;
+    private Object[] valores;
+    private int tamanio;
+    private int mascara;
+    private int umbral;
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final float FACTOR_CARGA = 0.5f;
+
+    // Constructor que inicializa la tabla vacía
+    public TablaHashLong() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    // Constructor con capacidad inicial personalizada
+    // Parámetro: capacidadInicial - Número de elementos esperados
+    public TablaHashLong(int capacidadInicial) {
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad * FACTOR_CARGA < capacidadInicial) {
+            capacidad <<= 1;
+        }
+        inicializar(capacidad);
+    }
+
+    // Asocia un valor con una clave, reemplazando el anterior si existía
+    // Parámetros: clave - Clave numérica, valor - Valor a guardar (no puede ser null)
+    // Retorna: El valor anterior, o null si la clave no existía
+    @SuppressWarnings("unchecked")
+    public V insertar(long clave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("El valor no puede ser null");
+        }
+        int indice = posicion(clave);
+        while (valores[indice] != null) {
+            if (claves[indice] == clave) {
+                V anterior = (V) valores[indice];
+                valores[indice] = valor;
+                return anterior;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        claves[indice] = clave;
+        valores[indice] = valor;
+        tamanio++;
+        if (tamanio > umbral) {
+            redimensionar();
+        }
+        return null;
+    }
+
+    // Obtiene el valor asociado a una clave
+    // Parámetro: clave - Clave a buscar
+    // Retorna: El valor asociado, o null si no existe
+    @SuppressWarnings("unchecked")
+    public V obtener(long clave) {
+        int indice = posicion(clave);
+        while (valores[indice] != null) {
+            if (claves[indice] == clave) {
+                return (V) valores[indice];
+            }
+            indice = (indice + 1) & mascara;
+        }
+        return null;
+    }
+
+    // Verifica si una clave existe en la tabla
+    // Parámetro: clave - Clave a buscar
+    // Retorna: true si existe, false en caso contrario
+    public boolean contiene(long clave) {
+        return obtener(clave) != null;
+    }
+
+    // Elimina una clave de la tabla
+    // Parámetro: clave - Clave a eliminar
+    // Retorna: El valor eliminado, o null si no existía
+    @SuppressWarnings("unchecked")
+    public V eliminar(long clave) {
+        int indice = posicion(clave);
+        while (valores[indice] != null) {
+            if (claves[indice] == clave) {
+                V eliminado = (V) valores[indice];
+                desplazarHaciaAtras(indice);
+                tamanio--;
+                return eliminado;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        return null;
+    }
+
+    // Obtiene el número de claves almacenadas
+    // Retorna: Número de elementos
+    public int tamanio() {
+        return tamanio;
+    }
+
+    // Verifica si la tabla está vacía
+    // Retorna: true si está vacía, false en caso contrario
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+
+    // Limpia todos los elementos de la tabla
+    public void limpiar() {
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = null;
+        }
+        tamanio = 0;
+    }
+
+    // Rellena el hueco dejado por una eliminación moviendo hacia atrás
+    // los elementos de la misma secuencia de sondeo
+    private void desplazarHaciaAtras(int hueco) {
+        int siguiente = (hueco + 1) & mascara;
+        while (valores[siguiente] != null) {
+            int ideal = posicion(claves[siguiente]);
+            // El elemento puede ocupar el hueco si su posición ideal no está entre el hueco y su posición actual
+            if (((siguiente - ideal) & mascara) >= ((siguiente - hueco) & mascara)) {
+                claves[hueco] = claves[siguiente];
+                valores[hueco] = valores[siguiente];
+                hueco = siguiente;
+            }
+            siguiente = (siguiente + 1) & mascara;
+        }
+        valores[hueco] = null;
+    }
+
+    // Calcula la posición inicial de una clave mezclando sus bits
+    private int posicion(long clave) {
+        long mezcla = clave * 0x9E3779B97F4A7C15L;
+        return (int) (mezcla ^ (mezcla >>> 32)) & mascara;
+    }
+
+    private void inicializar(int capacidad) {
+        this.claves = new long[capacidad];
+        this.valores = new Object[capacidad];
+        this.mascara = capacidad - 1;
+        this.umbral = (int) (capacidad * FACTOR_CARGA);
+        this.tamanio = 0;
+    }
+
+    // Redimensiona los arrays internos cuando se supera el factor de carga
+    // Duplica la capacidad y reinserta todas las claves
+    @SuppressWarnings("unchecked")
+    private void redimensionar() {
+        long[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        inicializar(claves.length * 2);
+        for (int i = 0; i < valoresAnteriores.length; i++) {
+            if (valoresAnteriores[i] != null) {
+                insertar(clavesAnteriores[i], (V) valoresAnteriores[i]);
+            }
+        }
+    }
+}
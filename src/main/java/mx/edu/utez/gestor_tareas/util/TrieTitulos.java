@@ -0,0 +1,299 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import mx.edu.utez.gestor_tareas.model.Tarea;
+
+// Trie de prefijos sobre los títulos normalizados de las tareas, para autocompletar.
+// Los títulos se normalizan igual que en el índice invertido (minúsculas, sin acentos, palabras
+// separadas por un espacio): "Canción  Nueva!" se guarda como "cancion nueva".
+// Es un trie compacto (radix): cada arista lleva un tramo de texto en lugar de un carácter, así que
+// una cadena de nodos con un solo hijo y sin tareas se guarda como un único nodo. Los nodos solo
+// aparecen donde los títulos se bifurcan o terminan: el número de nodos es O(tareas), no O(caracteres).
+// Al insertar, una arista que coincide solo en parte se divide; al eliminar, un nodo que se queda
+// sin tareas y con un solo hijo se fusiona con él.
+// Cada nodo guarda sus hijos en arreglos ordenados del tamaño justo (búsqueda binaria por el primer
+// carácter de la arista) y cuántas tareas de cada prioridad hay en su subárbol. Con esos conteos, las
+// sugerencias se recorren por prioridad (ALTA, MEDIA, BAJA) entrando solo en los subárboles que
+// tienen tareas de la prioridad buscada, así que el costo depende de la longitud del prefijo y del
+// límite, no del número de tareas. El recorrido usa una pila explícita (sin recursión).
+// No es seguro para hilos. Implementado con arrays nativos, sin usar colecciones de java.util.*
+public class TrieTitulos {
+    private static final int PRIORIDADES = Tarea.Prioridad.values().length;
+
+    private final Nodo raiz = new Nodo("");
+    private int tamanio;
+
+    // Nodo del trie: tramo de la arista que llega a él, hijos ordenados por el primer carácter de su
+    // tramo y tareas cuyo título termina aquí (por prioridad)
+    private static final class Nodo {
+        private String tramo;
+        private char[] caracteres = new char[0];
+        private Nodo[] hijos = new Nodo[0];
+        private final int[] conteo = new int[PRIORIDADES];
+        private Object[] tareas;
+
+        private Nodo(String tramo) {
+            this.tramo = tramo;
+        }
+
+        private int total() {
+            int total = 0;
+            for (int cantidad : conteo) {
+                total += cantidad;
+            }
+            return total;
+        }
+
+        // Posición del hijo cuyo tramo empieza con un carácter, o -(punto de inserción + 1) si no existe
+        private int buscarHijo(char caracter) {
+            int inicio = 0;
+            int fin = caracteres.length - 1;
+            while (inicio <= fin) {
+                int medio = (inicio + fin) >>> 1;
+                if (caracteres[medio] < caracter) {
+                    inicio = medio + 1;
+                } else if (caracteres[medio] > caracter) {
+                    fin = medio - 1;
+                } else {
+                    return medio;
+                }
+            }
+            return -(inicio + 1);
+        }
+
+        // Inserta un hijo en su punto de inserción (posicion viene de buscarHijo, ya convertida)
+        private void agregarHijo(int posicion, Nodo hijo) {
+            int cantidad = caracteres.length;
+            char[] nuevosCaracteres = new char[cantidad + 1];
+            Nodo[] nuevosHijos = new Nodo[cantidad + 1];
+            System.arraycopy(caracteres, 0, nuevosCaracteres, 0, posicion);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, posicion);
+            System.arraycopy(caracteres, posicion, nuevosCaracteres, posicion + 1, cantidad - posicion);
+            System.arraycopy(hijos, posicion, nuevosHijos, posicion + 1, cantidad - posicion);
+            nuevosCaracteres[posicion] = hijo.tramo.charAt(0);
+            nuevosHijos[posicion] = hijo;
+            caracteres = nuevosCaracteres;
+            hijos = nuevosHijos;
+        }
+
+        private void quitarHijo(int posicion) {
+            int cantidad = caracteres.length;
+            char[] nuevosCaracteres = new char[cantidad - 1];
+            Nodo[] nuevosHijos = new Nodo[cantidad - 1];
+            System.arraycopy(caracteres, 0, nuevosCaracteres, 0, posicion);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, posicion);
+            System.arraycopy(caracteres, posicion + 1, nuevosCaracteres, posicion, cantidad - posicion - 1);
+            System.arraycopy(hijos, posicion + 1, nuevosHijos, posicion, cantidad - posicion - 1);
+            caracteres = nuevosCaracteres;
+            hijos = nuevosHijos;
+        }
+
+        // Divide el tramo tras sus primeros "largo" caracteres: este nodo se queda con el inicio y
+        // un nuevo hijo único recibe el resto, con los hijos, las tareas y los conteos actuales
+        private void dividir(int largo) {
+            Nodo resto = new Nodo(tramo.substring(largo));
+            resto.caracteres = caracteres;
+            resto.hijos = hijos;
+            resto.tareas = tareas;
+            System.arraycopy(conteo, 0, resto.conteo, 0, PRIORIDADES);
+            tramo = tramo.substring(0, largo);
+            caracteres = new char[]{resto.tramo.charAt(0)};
+            hijos = new Nodo[]{resto};
+            tareas = null;
+        }
+
+        // Si el nodo no tiene tareas propias y le queda un solo hijo, absorbe al hijo
+        private void fusionarConHijoUnico() {
+            if (tareas != null || hijos.length != 1) {
+                return;
+            }
+            Nodo hijo = hijos[0];
+            tramo = tramo + hijo.tramo;
+            caracteres = hijo.caracteres;
+            hijos = hijo.hijos;
+            tareas = hijo.tareas;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Lista<Tarea> tareasDe(int prioridad) {
+            return tareas == null ? null : (Lista<Tarea>) tareas[prioridad];
+        }
+
+        // Quita las listas de tareas si ya no queda ninguna
+        private void liberarTareasVacias() {
+            for (int prioridad = 0; prioridad < PRIORIDADES; prioridad++) {
+                Lista<Tarea> lista = tareasDe(prioridad);
+                if (lista != null && !lista.estaVacia()) {
+                    return;
+                }
+            }
+            tareas = null;
+        }
+    }
+
+    // Inserta una tarea con su título y prioridad actuales
+    public void insertar(Tarea tarea) {
+        String clave = normalizar(tarea.getTitulo());
+        int prioridad = tarea.getPrioridad().ordinal();
+        Nodo actual = raiz;
+        actual.conteo[prioridad]++;
+        int posicionClave = 0;
+        while (posicionClave < clave.length()) {
+            int posicion = actual.buscarHijo(clave.charAt(posicionClave));
+            if (posicion < 0) {
+                // Ningún tramo empieza así: el resto de la clave va en un solo nodo nuevo
+                Nodo hoja = new Nodo(clave.substring(posicionClave));
+                actual.agregarHijo(-(posicion + 1), hoja);
+                hoja.conteo[prioridad]++;
+                actual = hoja;
+                break;
+            }
+            Nodo hijo = actual.hijos[posicion];
+            int comun = prefijoComun(hijo.tramo, clave, posicionClave);
+            if (comun < hijo.tramo.length()) {
+                hijo.dividir(comun);
+            }
+            hijo.conteo[prioridad]++;
+            actual = hijo;
+            posicionClave += comun;
+        }
+        if (actual.tareas == null) {
+            actual.tareas = new Object[PRIORIDADES];
+        }
+        Lista<Tarea> lista = actual.tareasDe(prioridad);
+        if (lista == null) {
+            lista = new Lista<>(2);
+            actual.tareas[prioridad] = lista;
+        }
+        lista.agregar(tarea);
+        tamanio++;
+    }
+
+    // Elimina una tarea; el título y la prioridad deben ser los mismos con que se insertó
+    // Retorna: true si se eliminó, false si no estaba
+    public boolean eliminar(Tarea tarea) {
+        String clave = normalizar(tarea.getTitulo());
+        int prioridad = tarea.getPrioridad().ordinal();
+        // Camino desde la raíz (a lo más un nodo por carácter), para descontar y podar de abajo hacia arriba
+        Nodo[] camino = new Nodo[clave.length() + 1];
+        int[] posiciones = new int[clave.length() + 1];
+        camino[0] = raiz;
+        int profundidad = 0;
+        int posicionClave = 0;
+        while (posicionClave < clave.length()) {
+            Nodo actual = camino[profundidad];
+            int posicion = actual.buscarHijo(clave.charAt(posicionClave));
+            if (posicion < 0) {
+                return false;
+            }
+            Nodo hijo = actual.hijos[posicion];
+            if (!clave.startsWith(hijo.tramo, posicionClave)) {
+                return false;
+            }
+            posiciones[profundidad] = posicion;
+            camino[++profundidad] = hijo;
+            posicionClave += hijo.tramo.length();
+        }
+        Nodo terminal = camino[profundidad];
+        Lista<Tarea> lista = terminal.tareasDe(prioridad);
+        if (lista == null || !lista.eliminar(tarea)) {
+            return false;
+        }
+        terminal.liberarTareasVacias();
+        int sobreviviente = 0;
+        for (int i = profundidad; i >= 0; i--) {
+            camino[i].conteo[prioridad]--;
+            if (i > 0 && camino[i].total() == 0) {
+                camino[i - 1].quitarHijo(posiciones[i - 1]);
+            } else if (sobreviviente == 0) {
+                sobreviviente = i;
+            }
+        }
+        // Solo el nodo más bajo que quedó cambió de forma (perdió tareas o un hijo); la raíz no se fusiona
+        if (sobreviviente > 0) {
+            camino[sobreviviente].fusionarConHijoUnico();
+        }
+        tamanio--;
+        return true;
+    }
+
+    // Obtiene las tareas cuyo título empieza con un prefijo, primero las de mayor prioridad
+    // (dentro de cada prioridad, por orden alfabético del título y luego de inserción)
+    // Parámetros: prefijo - Inicio del título (se normaliza), limite - Número máximo de tareas
+    // Retorna: Lista con las tareas sugeridas
+    public Lista<Tarea> sugerir(String prefijo, int limite) {
+        Lista<Tarea> resultado = new Lista<>(Math.max(1, Math.min(limite, tamanio)));
+        String clave = normalizar(prefijo);
+        Nodo actual = raiz;
+        int posicionClave = 0;
+        while (posicionClave < clave.length()) {
+            int posicion = actual.buscarHijo(clave.charAt(posicionClave));
+            if (posicion < 0) {
+                return resultado;
+            }
+            Nodo hijo = actual.hijos[posicion];
+            int restante = clave.length() - posicionClave;
+            // El prefijo puede terminar a media arista: basta que coincida con el inicio del tramo
+            int largo = Math.min(restante, hijo.tramo.length());
+            if (!clave.regionMatches(posicionClave, hijo.tramo, 0, largo)) {
+                return resultado;
+            }
+            actual = hijo;
+            posicionClave += largo;
+        }
+        for (int prioridad = 0; prioridad < PRIORIDADES && resultado.tamanio() < limite; prioridad++) {
+            recolectar(actual, prioridad, limite, resultado);
+        }
+        return resultado;
+    }
+
+    // Recorre en profundidad (preorden, hijos en orden alfabético) solo los subárboles con tareas
+    // de la prioridad indicada, con una pila explícita en lugar de recursión
+    private void recolectar(Nodo inicio, int prioridad, int limite, Lista<Tarea> resultado) {
+        Pila<Nodo> pendientes = new Pila<>();
+        pendientes.push(inicio);
+        while (!pendientes.estaVacia() && resultado.tamanio() < limite) {
+            Nodo nodo = pendientes.pop();
+            if (nodo.conteo[prioridad] == 0) {
+                continue;
+            }
+            Lista<Tarea> propias = nodo.tareasDe(prioridad);
+            if (propias != null) {
+                for (int i = 0; i < propias.tamanio() && resultado.tamanio() < limite; i++) {
+                    resultado.agregar(propias.obtener(i));
+                }
+            }
+            // Se apilan al revés para sacar primero el de menor carácter
+            for (int i = nodo.hijos.length - 1; i >= 0; i--) {
+                pendientes.push(nodo.hijos[i]);
+            }
+        }
+    }
+
+    // Largo del prefijo común entre un tramo y la clave desde una posición
+    private static int prefijoComun(String tramo, String clave, int desde) {
+        int largo = Math.min(tramo.length(), clave.length() - desde);
+        int i = 0;
+        while (i < largo && tramo.charAt(i) == clave.charAt(desde + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Retorna el número de tareas en el trie
+    public int tamanio() {
+        return tamanio;
+    }
+
+    // Normaliza un título: términos del índice invertido separados por un espacio
+    public static String normalizar(String titulo) {
+        Lista<String> terminos = IndiceInvertido.terminos(titulo);
+        StringBuilder clave = new StringBuilder();
+        for (String termino : terminos) {
+            if (clave.length() > 0) {
+                clave.append(' ');
+            }
+            clave.append(termino);
+        }
+        return clave.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package mx.edu.utez.gestor_tareas.Service;
+
+import mx.edu.utez.gestor_tareas.model.Tarea;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class CanalCambiosTest {
+
+	@Test
+	void dosClientesAtascadosNoFrenanALosDemas() throws Exception {
+		TareaService servicio = new TareaService();
+		CanalCambios canal = new CanalCambios(servicio, 200);
+		CountDownLatch liberar = new CountDownLatch(1);
+		try {
+			// Tantos clientes atascados como hilos de envío: ocupan todo el pool
+			canal.suscribir(new EmisorAtascado(liberar));
+			canal.suscribir(new EmisorAtascado(liberar));
+			EmisorRegistrado sano = new EmisorRegistrado();
+			canal.suscribir(sano);
+
+			servicio.agregarTarea("A", "", Tarea.Prioridad.MEDIA);
+
+			assertNotNull(sano.enviados.poll(5, TimeUnit.SECONDS), "el cliente sano no recibió el aviso");
+			assertEquals(1, canal.obtenerNumeroClientes());
+		} finally {
+			liberar.countDown();
+			canal.cerrar();
+		}
+	}
+
+	// Emisor cuyo envío se bloquea como un socket lleno (ignora las interrupciones)
+	private static final class EmisorAtascado extends SseEmitter {
+		private final CountDownLatch liberar;
+
+		private EmisorAtascado(CountDownLatch liberar) {
+			this.liberar = liberar;
+		}
+
+		@Override
+		public void send(SseEventBuilder evento) {
+			boolean liberado = false;
+			while (!liberado) {
+				try {
+					liberado = liberar.await(1, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					// Sigue bloqueado
+				}
+			}
+		}
+	}
+
+	private static final class EmisorRegistrado extends SseEmitter {
+		private final LinkedBlockingQueue<SseEventBuilder> enviados = new LinkedBlockingQueue<>();
+
+		@Override
+		public void send(SseEventBuilder evento) {
+			enviados.add(evento);
+		}
+	}
+}
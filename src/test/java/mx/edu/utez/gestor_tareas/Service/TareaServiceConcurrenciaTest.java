@@ -0,0 +1,159 @@
+package mx.edu.utez.gestor_tareas.Service;
+
+import mx.edu.utez.gestor_tareas.model.Estadisticas;
+import mx.edu.utez.gestor_tareas.model.Tarea;
+import mx.edu.utez.gestor_tareas.util.Lista;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TareaServiceConcurrenciaTest {
+
+	private static final int HILOS = 8;
+	private static final int OPERACIONES_POR_HILO = 10_000;
+
+	@Test
+	void lasCuatroEstructurasQuedanConsistentesBajoCarga() throws Exception {
+		TareaService servicio = new TareaService();
+		AtomicInteger creadas = new AtomicInteger();
+		AtomicInteger eliminadas = new AtomicInteger();
+		AtomicInteger actualizadas = new AtomicInteger();
+		AtomicInteger completadas = new AtomicInteger();
+		AtomicInteger procesadas = new AtomicInteger();
+		AtomicLong mayorId = new AtomicLong(1);
+		ConcurrentLinkedQueue<Throwable> errores = new ConcurrentLinkedQueue<>();
+		CountDownLatch inicio = new CountDownLatch(1);
+		Thread[] hilos = new Thread[HILOS];
+		// Los avisos llegan en orden estricto de versión, aunque varios hilos procesen la cola a la vez
+		AtomicLong ultimaVersion = new AtomicLong();
+		servicio.agregarOyente(evento -> {
+			if (evento.getVersion() != ultimaVersion.get() + 1) {
+				errores.add(new AssertionError("Aviso fuera de orden: " + evento.getVersion()
+						+ " tras " + ultimaVersion.get()));
+			}
+			ultimaVersion.set(evento.getVersion());
+		});
+
+		for (int h = 0; h < HILOS; h++) {
+			hilos[h] = new Thread(() -> {
+				ThreadLocalRandom azar = ThreadLocalRandom.current();
+				try {
+					inicio.await();
+					for (int i = 0; i < OPERACIONES_POR_HILO; i++) {
+						long id = 1 + azar.nextLong(mayorId.get());
+						int operacion = azar.nextInt(100);
+						if (operacion < 35) {
+							Tarea tarea = servicio.agregarTarea("Tarea " + i, "", Tarea.Prioridad.values()[azar.nextInt(3)]);
+							mayorId.accumulateAndGet(tarea.getId(), Math::max);
+							creadas.incrementAndGet();
+						} else if (operacion < 50) {
+							if (servicio.eliminarTarea(id)) {
+								eliminadas.incrementAndGet();
+							}
+						} else if (operacion < 65) {
+							if (servicio.actualizarTarea(id, "Editada", "", Tarea.Prioridad.values()[azar.nextInt(3)],
+									Tarea.Estado.EN_PROGRESO) != null) {
+								actualizadas.incrementAndGet();
+							}
+						} else if (operacion < 75) {
+							if (servicio.completarTarea(id) != null) {
+								completadas.incrementAndGet();
+							}
+						} else if (operacion < 85) {
+							if (servicio.procesarSiguienteTarea() != null) {
+								procesadas.incrementAndGet();
+							}
+						} else {
+							Tarea tarea = servicio.buscarTareaPorId(id);
+							if (tarea != null) {
+								assertEquals(id, tarea.getId());
+							}
+							assertOrdenadaPorId(servicio.obtenerTodasLasTareas());
+							servicio.obtenerTareasInorden(null, 50);
+							servicio.obtenerTareasEnCola();
+							servicio.obtenerHistorial();
+							servicio.obtenerEstadisticas();
+						}
+					}
+				} catch (Throwable e) {
+					errores.add(e);
+				}
+			});
+			hilos[h].start();
+		}
+		inicio.countDown();
+		for (Thread hilo : hilos) {
+			hilo.join();
+		}
+
+		assertTrue(errores.isEmpty(), () -> "Errores en los hilos: " + errores);
+		assertEquals(servicio.obtenerVersion(), ultimaVersion.get());
+
+		Lista<Tarea> tareas = servicio.obtenerTodasLasTareas();
+		int vivas = creadas.get() - eliminadas.get() - completadas.get();
+		assertEquals(vivas, tareas.tamanio());
+		assertOrdenadaPorId(tareas);
+		assertEquals(creadas.get(), mayorId.get());
+
+		// Árbol: mismas tareas que la lista
+		assertEquals(vivas, servicio.obtenerTamanioArbol());
+		Lista<Tarea> delArbol = servicio.obtenerTodasLasTareasDelArbol();
+		assertEquals(vivas, delArbol.tamanio());
+		for (Tarea tarea : delArbol) {
+			assertSame(tarea, servicio.buscarTareaPorId(tarea.getId()));
+		}
+		for (Tarea tarea : tareas) {
+			assertSame(tarea, servicio.buscarTareaPorId(tarea.getId()));
+		}
+
+		// Cola: solo tareas vivas, sin repetir, y nunca más que las creadas sin procesar
+		Lista<Tarea> enCola = servicio.obtenerTareasEnCola();
+		assertEquals(enCola.tamanio(), servicio.obtenerTamanioCola());
+		assertTrue(enCola.tamanio() <= creadas.get() - procesadas.get());
+		long anterior = 0;
+		for (Tarea tarea : enCola) {
+			assertSame(tarea, servicio.buscarTareaPorId(tarea.getId()));
+			assertTrue(tarea.getId() > anterior);
+			anterior = tarea.getId();
+		}
+		Tarea procesada;
+		while ((procesada = servicio.procesarSiguienteTarea()) != null) {
+			assertSame(procesada, servicio.buscarTareaPorId(procesada.getId()));
+		}
+		assertEquals(0, servicio.obtenerTamanioCola());
+
+		// Contadores incrementales: coinciden con un recorrido completo de la lista
+		int[] porEstado = new int[Tarea.Estado.values().length];
+		int[] porPrioridad = new int[Tarea.Prioridad.values().length];
+		for (Tarea tarea : tareas) {
+			porEstado[tarea.getEstado().ordinal()]++;
+			porPrioridad[tarea.getPrioridad().ordinal()]++;
+		}
+		Estadisticas estadisticas = servicio.obtenerEstadisticasDetalladas();
+		assertEquals(vivas, estadisticas.getTotal());
+		assertEquals(porEstado[Tarea.Estado.PENDIENTE.ordinal()], estadisticas.getPendientes());
+		assertEquals(porEstado[Tarea.Estado.EN_PROGRESO.ordinal()], estadisticas.getEnProgreso());
+		assertEquals(porEstado[Tarea.Estado.COMPLETADA.ordinal()], estadisticas.getCompletadas());
+		assertEquals(porPrioridad[Tarea.Prioridad.ALTA.ordinal()], estadisticas.getPrioridadAlta());
+		assertEquals(porPrioridad[Tarea.Prioridad.MEDIA.ordinal()], estadisticas.getPrioridadMedia());
+		assertEquals(porPrioridad[Tarea.Prioridad.BAJA.ordinal()], estadisticas.getPrioridadBaja());
+
+		// Pila: una acción por cada operación que tuvo efecto
+		int acciones = creadas.get() + eliminadas.get() + actualizadas.get() + completadas.get();
+		assertEquals(acciones, servicio.obtenerTamanioHistorial());
+	}
+
+	private static void assertOrdenadaPorId(Lista<Tarea> tareas) {
+		for (int i = 1; i < tareas.tamanio(); i++) {
+			assertTrue(tareas.obtener(i - 1).getId() < tareas.obtener(i).getId());
+		}
+	}
+}
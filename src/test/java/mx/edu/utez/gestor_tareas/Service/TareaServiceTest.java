@@ -0,0 +1,506 @@
+package mx.edu.utez.gestor_tareas.Service;
+
+import mx.edu.utez.gestor_tareas.model.Accion;
+import mx.edu.utez.gestor_tareas.model.CambiosDesde;
+import mx.edu.utez.gestor_tareas.model.EstadisticasCache;
+import mx.edu.utez.gestor_tareas.model.EventoCambio;
+import mx.edu.utez.gestor_tareas.model.Pagina;
+import mx.edu.utez.gestor_tareas.model.ResumenDashboard;
+import mx.edu.utez.gestor_tareas.model.Tarea;
+import mx.edu.utez.gestor_tareas.util.Lista;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TareaServiceTest {
+
+	@Test
+	void laColaDescartaTareasEliminadasOCompletadas() {
+		TareaService servicio = new TareaService();
+		for (int i = 1; i <= 200; i++) {
+			servicio.agregarTarea("Tarea " + i, "", Tarea.Prioridad.MEDIA);
+		}
+		// Se eliminan o completan todas menos las múltiplos de 10: la cola se compacta por el camino
+		for (long id = 1; id <= 200; id++) {
+			if (id % 10 != 0) {
+				if (id % 2 == 0) {
+					servicio.completarTarea(id);
+				} else {
+					servicio.eliminarTarea(id);
+				}
+			}
+		}
+		assertEquals(20, servicio.obtenerTamanioCola());
+		assertEquals(20, servicio.obtenerTareasEnCola().tamanio());
+		assertEquals(10L, servicio.verSiguienteTarea().getId());
+
+		for (long id = 10; id <= 200; id += 10) {
+			assertEquals(id, servicio.procesarSiguienteTarea().getId());
+		}
+		assertNull(servicio.procesarSiguienteTarea());
+		assertEquals(0, servicio.obtenerTamanioCola());
+	}
+
+	@Test
+	void eliminarUnaTareaYaProcesadaNoAfectaLaCola() {
+		TareaService servicio = new TareaService();
+		servicio.agregarTarea("A", "", Tarea.Prioridad.ALTA);
+		servicio.agregarTarea("B", "", Tarea.Prioridad.ALTA);
+		assertEquals(1L, servicio.procesarSiguienteTarea().getId());
+		servicio.eliminarTarea(1L);
+		assertEquals(1, servicio.obtenerTamanioCola());
+		servicio.eliminarTarea(2L);
+		assertEquals(0, servicio.obtenerTamanioCola());
+		assertNull(servicio.verSiguienteTarea());
+		assertNull(servicio.procesarSiguienteTarea());
+	}
+
+	@Test
+	void elHistorialAcotadoGuardaLasAccionesAntiguasEnDisco(@TempDir Path directorio) throws IOException {
+		TareaService servicio = new TareaService(50, directorio.toString());
+		for (int i = 1; i <= 120; i++) {
+			servicio.agregarTarea("Tarea " + i, "", Tarea.Prioridad.BAJA);
+		}
+		assertEquals(50, servicio.obtenerTamanioHistorial());
+		assertEquals(70, servicio.obtenerTamanioHistorialArchivado());
+		assertEquals("Tarea creada: Tarea 120", servicio.obtenerUltimaAccion().getDescripcion());
+
+		Lista<Accion> pagina = servicio.obtenerHistorialArchivado(60, 100);
+		assertEquals(10, pagina.tamanio());
+		assertEquals(Accion.Tipo.CREAR, pagina.obtener(0).getTipo());
+		assertEquals(61L, pagina.obtener(0).getTareaId());
+		assertEquals("Tarea creada: Tarea 61", pagina.obtener(0).getDescripcion());
+		assertEquals("Tarea creada: Tarea 70", pagina.obtener(9).getDescripcion());
+		servicio.cerrarHistorial();
+		// Los segmentos van a una subcarpeta privada que se borra al cerrar
+		try (Stream<Path> restantes = Files.list(directorio)) {
+			assertEquals(0, restantes.count());
+		}
+	}
+
+	@Test
+	void completarRegistraUnaSolaAccion() {
+		TareaService servicio = new TareaService();
+		Tarea tarea = servicio.agregarTarea("Informe", "", Tarea.Prioridad.ALTA);
+		LocalDateTime antes = LocalDateTime.now();
+		servicio.completarTarea(tarea.getId());
+		LocalDateTime despues = LocalDateTime.now();
+		assertEquals(2, servicio.obtenerTamanioHistorial());
+		Accion ultima = servicio.obtenerUltimaAccion();
+		assertEquals(Accion.Tipo.COMPLETAR, ultima.getTipo());
+		assertEquals(tarea.getId(), ultima.getTareaId());
+		assertEquals("Tarea completada: Informe", ultima.getDescripcion());
+		// La marca de tiempo sale del reloj del sistema en el momento de la acción
+		assertFalse(ultima.getFechaHora().isBefore(antes));
+		assertFalse(ultima.getFechaHora().isAfter(despues));
+	}
+
+	@Test
+	void deshacerRestauraLaTareaEnTodasLasEstructuras() {
+		TareaService servicio = new TareaService();
+		Tarea a = servicio.agregarTarea("A", "uno", Tarea.Prioridad.BAJA);
+		Tarea b = servicio.agregarTarea("B", "dos", Tarea.Prioridad.MEDIA);
+		Tarea c = servicio.agregarTarea("C", "tres", Tarea.Prioridad.ALTA);
+
+		servicio.actualizarTarea(b.getId(), "B2", "dos", Tarea.Prioridad.ALTA, Tarea.Estado.EN_PROGRESO);
+		servicio.eliminarTarea(a.getId());
+		servicio.completarTarea(b.getId());
+		assertEquals(1, servicio.obtenerTamanioCola());
+
+		// Deshacer COMPLETAR: B vuelve con su estado anterior y recupera su lugar en la cola
+		assertEquals(Accion.Tipo.COMPLETAR, servicio.deshacerUltimaAccion().getTipo());
+		assertSame(b, servicio.buscarTareaPorId(b.getId()));
+		assertEquals(Tarea.Estado.EN_PROGRESO, b.getEstado());
+		assertEquals(b.getId(), servicio.verSiguienteTarea().getId());
+
+		// Deshacer ELIMINAR: A vuelve a su posición en la lista y al frente de la cola
+		servicio.deshacerUltimaAccion();
+		assertEquals(a.getId(), servicio.obtenerTodasLasTareas().obtener(0).getId());
+		assertEquals(a.getId(), servicio.verSiguienteTarea().getId());
+		assertEquals(3, servicio.obtenerTamanioCola());
+		assertEquals(3, servicio.obtenerTamanioArbol());
+
+		// Deshacer ACTUALIZAR: B recupera título, prioridad y estado (y su lugar en el árbol)
+		servicio.deshacerUltimaAccion();
+		assertEquals("B", b.getTitulo());
+		assertEquals(Tarea.Prioridad.MEDIA, b.getPrioridad());
+		assertEquals(Tarea.Estado.PENDIENTE, b.getEstado());
+		assertEquals(1, servicio.obtenerPosicionTarea(b.getId()));
+
+		// Deshacer CREAR: C desaparece
+		servicio.deshacerUltimaAccion();
+		assertNull(servicio.buscarTareaPorId(c.getId()));
+		assertEquals(2, servicio.obtenerTamanioCola());
+		assertEquals(2, servicio.obtenerTamanioArbol());
+		assertEquals(2, servicio.obtenerTamanioHistorial());
+	}
+
+	@Test
+	void deshacerUnaActualizacionDevuelveLaDescripcionNula() {
+		TareaService servicio = new TareaService();
+		Tarea tarea = servicio.agregarTarea("Informe", null, Tarea.Prioridad.MEDIA);
+		servicio.actualizarTarea(tarea.getId(), "Informe", "mensual", Tarea.Prioridad.MEDIA, Tarea.Estado.PENDIENTE);
+		assertEquals(1, servicio.buscarTareas("mensual").tamanio());
+
+		servicio.deshacerUltimaAccion();
+		assertNull(tarea.getDescripcion());
+		assertEquals(0, servicio.buscarTareas("mensual").tamanio());
+	}
+
+	@Test
+	void deshacerUnaEliminacionYaProcesadaNoLaVuelveAEncolar() {
+		TareaService servicio = new TareaService();
+		Tarea a = servicio.agregarTarea("A", "", Tarea.Prioridad.ALTA);
+		servicio.procesarSiguienteTarea();
+		servicio.eliminarTarea(a.getId());
+		servicio.deshacerUltimaAccion();
+		assertSame(a, servicio.buscarTareaPorId(a.getId()));
+		assertEquals(0, servicio.obtenerTamanioCola());
+	}
+
+	@Test
+	void laColaSigueAlModeloAunqueSePurguenYCompactenLasEntradas() {
+		TareaService servicio = new TareaService();
+		Random aleatorio = new Random(5);
+		ArrayDeque<Long> cola = new ArrayDeque<>();
+		List<Long> vivas = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			int operacion = aleatorio.nextInt(10);
+			if (operacion < 4 || vivas.isEmpty()) {
+				Tarea tarea = servicio.agregarTarea("T" + i, "", Tarea.Prioridad.MEDIA);
+				cola.addLast(tarea.getId());
+				vivas.add(tarea.getId());
+			} else if (operacion < 7) {
+				Tarea procesada = servicio.procesarSiguienteTarea();
+				assertEquals(cola.pollFirst(), procesada == null ? null : procesada.getId());
+			} else {
+				Long id = vivas.remove(aleatorio.nextInt(vivas.size()));
+				if (operacion == 7) {
+					servicio.eliminarTarea(id);
+				} else {
+					servicio.completarTarea(id);
+				}
+				cola.remove(id);
+			}
+			assertEquals(cola.size(), servicio.obtenerTamanioCola());
+		}
+		Lista<Tarea> enCola = servicio.obtenerTareasEnCola();
+		assertEquals(cola.size(), enCola.tamanio());
+		int i = 0;
+		for (Long id : cola) {
+			assertEquals(id, enCola.obtener(i++).getId());
+		}
+	}
+
+	@Test
+	void resumenDelDashboardEsCoherente() {
+		TareaService servicio = new TareaService();
+		Tarea baja = servicio.agregarTarea("Baja", "", Tarea.Prioridad.BAJA);
+		Tarea alta = servicio.agregarTarea("Alta", "", Tarea.Prioridad.ALTA);
+		servicio.agregarTarea("Media", "", Tarea.Prioridad.MEDIA);
+		servicio.eliminarTarea(baja.getId());
+
+		ResumenDashboard resumen = servicio.obtenerResumenDashboard(1, 2);
+		assertEquals(1, resumen.getTareasUrgentes().tamanio());
+		assertSame(alta, resumen.getTareasUrgentes().obtener(0));
+		assertSame(alta, resumen.getSiguienteEnCola());
+		assertEquals(2, resumen.getEstadisticas().getTotal());
+		assertEquals(2, resumen.getEstadisticas().getEnCola());
+		assertEquals(2, resumen.getHistorialReciente().tamanio());
+		assertEquals(Accion.Tipo.ELIMINAR, resumen.getHistorialReciente().obtener(0).getTipo());
+		assertEquals(Accion.Tipo.CREAR, resumen.getHistorialReciente().obtener(1).getTipo());
+	}
+
+	@Test
+	void cadaModificacionAvisaALosOyentes() {
+		TareaService servicio = new TareaService();
+		Lista<EventoCambio> eventos = new Lista<>();
+		servicio.agregarOyente(eventos::agregar);
+
+		Tarea tarea = servicio.agregarTarea("A", "", Tarea.Prioridad.ALTA);
+		servicio.procesarSiguienteTarea();
+		servicio.eliminarTarea(tarea.getId());
+		servicio.eliminarTarea(tarea.getId());
+		servicio.deshacerUltimaAccion();
+
+		assertEquals(4, eventos.tamanio());
+		assertEquals(EventoCambio.Tipo.CREAR, eventos.obtener(0).getTipo());
+		assertEquals(EventoCambio.Tipo.PROCESAR, eventos.obtener(1).getTipo());
+		assertEquals(EventoCambio.Tipo.ELIMINAR, eventos.obtener(2).getTipo());
+		// La tarea ya se había procesado: eliminarla no cambia la cola
+		assertFalse(eventos.obtener(2).isCola());
+		assertEquals(EventoCambio.Tipo.DESHACER, eventos.obtener(3).getTipo());
+		assertEquals(tarea.getId(), eventos.obtener(3).getTareaId());
+	}
+
+	@Test
+	void losCambiosDesdeUnaVersionTraenSoloElEstadoFinal() {
+		TareaService servicio = new TareaService();
+		Tarea conservada = servicio.agregarTarea("A", "", Tarea.Prioridad.BAJA);
+		long versionCliente = servicio.obtenerVersion();
+
+		Tarea borrada = servicio.agregarTarea("B", "", Tarea.Prioridad.MEDIA);
+		servicio.actualizarTarea(conservada.getId(), "A2", "", Tarea.Prioridad.ALTA, Tarea.Estado.PENDIENTE);
+		servicio.actualizarTarea(conservada.getId(), "A3", "", Tarea.Prioridad.ALTA, Tarea.Estado.PENDIENTE);
+		servicio.eliminarTarea(borrada.getId());
+		servicio.procesarSiguienteTarea();
+
+		CambiosDesde cambios = servicio.obtenerCambiosDesde(servicio.obtenerEpoca(), versionCliente);
+		assertFalse(cambios.isResincronizar());
+		assertEquals(servicio.obtenerVersion(), cambios.getVersion());
+		assertEquals(1, cambios.getActualizadas().tamanio());
+		assertEquals("A3", cambios.getActualizadas().obtener(0).getTitulo());
+		assertEquals(1, cambios.getEliminadas().tamanio());
+		assertEquals(borrada.getId(), cambios.getEliminadas().obtener(0));
+
+		CambiosDesde sinCambios = servicio.obtenerCambiosDesde(servicio.obtenerEpoca(), servicio.obtenerVersion());
+		assertFalse(sinCambios.isResincronizar());
+		assertEquals(0, sinCambios.getActualizadas().tamanio());
+		assertEquals(0, sinCambios.getEliminadas().tamanio());
+
+		assertEquals(servicio.obtenerEpoca(), sinCambios.getEpoca());
+
+		// Una versión futura pide resincronizar
+		assertTrue(servicio.obtenerCambiosDesde(servicio.obtenerEpoca(), servicio.obtenerVersion() + 1).isResincronizar());
+
+		// Una versión de otro arranque (otra época, o sin época) también, aunque el número sea válido aquí
+		TareaService reiniciado = new TareaService();
+		reiniciado.agregarTarea("X", "", Tarea.Prioridad.BAJA);
+		assertTrue(servicio.obtenerCambiosDesde(reiniciado.obtenerEpoca(), versionCliente).isResincronizar());
+		assertTrue(servicio.obtenerCambiosDesde(null, versionCliente).isResincronizar());
+	}
+
+	@Test
+	void pideResincronizarCuandoLaBitacoraYaNoTieneLaVersion() {
+		TareaService servicio = new TareaService();
+		Tarea tarea = servicio.agregarTarea("A", "", Tarea.Prioridad.BAJA);
+		long versionCliente = servicio.obtenerVersion();
+		for (int i = 0; i < 10_001; i++) {
+			servicio.actualizarTarea(tarea.getId(), "A" + i, "", Tarea.Prioridad.BAJA, Tarea.Estado.PENDIENTE);
+		}
+		assertTrue(servicio.obtenerCambiosDesde(servicio.obtenerEpoca(), versionCliente).isResincronizar());
+		assertFalse(servicio.obtenerCambiosDesde(servicio.obtenerEpoca(), versionCliente + 1).isResincronizar());
+	}
+
+	@Test
+	void lasPaginasSiguenElCursorAunqueCambienLasEstructuras(@TempDir Path directorio) {
+		TareaService servicio = new TareaService(10, directorio.toString());
+		for (int i = 1; i <= 25; i++) {
+			servicio.agregarTarea("Tarea " + i, "", Tarea.Prioridad.MEDIA);
+		}
+
+		Pagina<Tarea> tareas = servicio.obtenerPaginaDeTareas(null, 10);
+		assertEquals(10, tareas.getElementos().tamanio());
+		assertEquals(10L, tareas.getSiguienteCursor());
+		// Eliminar la tarea del cursor no invalida la página siguiente
+		servicio.eliminarTarea(10L);
+		servicio.eliminarTarea(11L);
+		tareas = servicio.obtenerPaginaDeTareas(tareas.getSiguienteCursor(), 10);
+		assertEquals(12L, tareas.getElementos().obtener(0).getId());
+		tareas = servicio.obtenerPaginaDeTareas(tareas.getSiguienteCursor(), 10);
+		assertEquals(4, tareas.getElementos().tamanio());
+		assertNull(tareas.getSiguienteCursor());
+
+		Pagina<Tarea> cola = servicio.obtenerPaginaDeCola(null, 5);
+		assertEquals(5L, cola.getElementos().obtener(4).getId());
+		servicio.procesarSiguienteTarea();
+		servicio.procesarSiguienteTarea();
+		cola = servicio.obtenerPaginaDeCola(cola.getSiguienteCursor(), 5);
+		assertEquals(6L, cola.getElementos().obtener(0).getId());
+		// Las tareas 10 y 11 se eliminaron: sus entradas muertas no aparecen
+		assertEquals(12L, cola.getElementos().obtener(4).getId());
+
+		Pagina<Tarea> buscadas = servicio.buscarTareas("tarea 2", false, null, 3);
+		assertEquals(2L, buscadas.getElementos().obtener(0).getId());
+		assertEquals(21L, buscadas.getElementos().obtener(2).getId());
+		buscadas = servicio.buscarTareas("tarea 2", false, buscadas.getSiguienteCursor(), 10);
+		assertEquals(4, buscadas.getElementos().tamanio());
+		assertNull(buscadas.getSiguienteCursor());
+
+		// 27 acciones: las 10 más recientes en memoria y 17 en disco; las páginas las cruzan
+		Lista<Accion> historial = new Lista<>();
+		Long cursor = null;
+		do {
+			Pagina<Accion> pagina = servicio.obtenerPaginaDeHistorial(cursor, 4);
+			historial.agregarTodos(pagina.getElementos());
+			cursor = pagina.getSiguienteCursor();
+		} while (cursor != null);
+		assertEquals(27, historial.tamanio());
+		assertEquals(Accion.Tipo.ELIMINAR, historial.obtener(0).getTipo());
+		assertEquals("Tarea creada: Tarea 25", historial.obtener(2).getDescripcion());
+		assertEquals("Tarea creada: Tarea 1", historial.obtener(26).getDescripcion());
+		servicio.cerrarHistorial();
+	}
+
+	@Test
+	void laBusquedaSigueLasModificacionesYElDeshacer() {
+		TareaService servicio = new TareaService();
+		Tarea informe = servicio.agregarTarea("Preparar informe", "Revisión trimestral", Tarea.Prioridad.ALTA);
+		Tarea reunion = servicio.agregarTarea("Reunión de equipo", "Preparar agenda", Tarea.Prioridad.MEDIA);
+
+		assertEquals(2, servicio.buscarTareas("prepar").tamanio());
+		assertEquals(1, servicio.buscarTareas("revision").tamanio());
+		assertSame(reunion, servicio.buscarTareas("reunion agenda").obtener(0));
+
+		servicio.actualizarTarea(informe.getId(), "Enviar informe", "Revisión anual", Tarea.Prioridad.ALTA,
+				Tarea.Estado.EN_PROGRESO);
+		assertSame(reunion, servicio.buscarTareas("preparar").obtener(0));
+		assertEquals(1, servicio.buscarTareas("preparar").tamanio());
+		assertEquals(0, servicio.buscarTareas("trimestral").tamanio());
+		assertSame(informe, servicio.buscarTareas("anual").obtener(0));
+
+		servicio.deshacerUltimaAccion();
+		assertEquals(1, servicio.buscarTareas("trimestral").tamanio());
+		assertEquals(0, servicio.buscarTareas("anual").tamanio());
+
+		servicio.eliminarTarea(reunion.getId());
+		assertEquals(0, servicio.buscarTareas("equipo").tamanio());
+		servicio.deshacerUltimaAccion();
+		assertSame(reunion, servicio.buscarTareas("equipo").obtener(0));
+
+		// Sin palabras en la consulta se devuelven todas
+		assertEquals(2, servicio.buscarTareas(" ").tamanio());
+
+		// La búsqueda difusa tolera errores de escritura y sigue los cambios de título
+		assertEquals(0, servicio.buscarTareas("reunoin").tamanio());
+		assertSame(reunion, servicio.buscarTareas("reunoin equpo", true).obtener(0));
+		servicio.actualizarTarea(reunion.getId(), "Junta de equipo", "Preparar agenda", Tarea.Prioridad.MEDIA,
+				Tarea.Estado.PENDIENTE);
+		assertEquals(0, servicio.buscarTareas("reunoin", true).tamanio());
+		assertSame(reunion, servicio.buscarTareas("junte", true).obtener(0));
+		assertEquals(1, servicio.buscarTareas("informee", true, null, 10).getElementos().tamanio());
+	}
+
+	@Test
+	void lasBusquedasRepetidasSalenDeLaCacheHastaQueCambianLosDatos() {
+		TareaService servicio = new TareaService();
+		Tarea informe = servicio.agregarTarea("Preparar informe", "Revisión trimestral", Tarea.Prioridad.ALTA);
+		servicio.agregarTarea("Reunión de equipo", "Preparar agenda", Tarea.Prioridad.MEDIA);
+
+		assertEquals(2, servicio.buscarTareas("preparar").tamanio());
+		// Misma consulta normalizada, también desde la búsqueda por páginas
+		assertEquals(2, servicio.buscarTareas("  PREPARAR ").tamanio());
+		assertEquals(2, servicio.buscarTareas("Preparar", false, null, 10).getElementos().tamanio());
+		EstadisticasCache estadisticas = servicio.obtenerEstadisticasCacheBusquedas();
+		assertEquals(1, estadisticas.getFallos());
+		assertEquals(2, estadisticas.getAciertos());
+
+		// Procesar la cola o cambiar solo la prioridad no cambia lo que encuentra la búsqueda
+		servicio.procesarSiguienteTarea();
+		servicio.actualizarTarea(informe.getId(), "Preparar informe", "Revisión trimestral", Tarea.Prioridad.BAJA,
+				Tarea.Estado.PENDIENTE);
+		assertEquals(2, servicio.buscarTareas("preparar").tamanio());
+		estadisticas = servicio.obtenerEstadisticasCacheBusquedas();
+		assertEquals(1, estadisticas.getFallos());
+		assertEquals(3, estadisticas.getAciertos());
+
+		servicio.actualizarTarea(informe.getId(), "Enviar informe", "Revisión anual", Tarea.Prioridad.ALTA,
+				Tarea.Estado.PENDIENTE);
+		assertEquals(1, servicio.buscarTareas("preparar").tamanio());
+		estadisticas = servicio.obtenerEstadisticasCacheBusquedas();
+		assertEquals(1, estadisticas.getInvalidadas());
+		assertEquals(2, estadisticas.getFallos());
+		assertEquals(1, estadisticas.getTamanio());
+	}
+
+	@Test
+	void losFiltrosConIndicesCoincidenConRecorrerLaLista() {
+		TareaService servicio = new TareaService();
+		Tarea.Prioridad[] prioridades = Tarea.Prioridad.values();
+		Tarea.Estado[] estados = Tarea.Estado.values();
+		for (int i = 0; i < 300; i++) {
+			Tarea tarea = servicio.agregarTarea("Tarea " + i, "", prioridades[i % 3]);
+			if (i % 4 == 1) {
+				servicio.actualizarTarea(tarea.getId(), tarea.getTitulo(), "", prioridades[(i + 1) % 3],
+						estados[i % 2]);
+			}
+			if (i % 7 == 3) {
+				servicio.eliminarTarea(tarea.getId());
+			} else if (i % 11 == 5) {
+				servicio.completarTarea(tarea.getId());
+				servicio.deshacerUltimaAccion();
+			}
+		}
+		Lista<Tarea> todas = servicio.obtenerTodasLasTareas();
+		LocalDateTime desde = todas.obtener(40).getFechaCreacion();
+		LocalDateTime hasta = todas.obtener(200).getFechaCreacion();
+
+		Tarea.Estado[][] filtrosEstado = {null, {Tarea.Estado.EN_PROGRESO}, {Tarea.Estado.PENDIENTE, Tarea.Estado.EN_PROGRESO}};
+		Tarea.Prioridad[][] filtrosPrioridad = {null, {Tarea.Prioridad.ALTA}, {Tarea.Prioridad.MEDIA, Tarea.Prioridad.BAJA}};
+		// Límites muy lejanos (fuera de lo que cabe en nanosegundos en un long) no deben desbordar la clave
+		LocalDateTime pasado = LocalDateTime.of(1000, 1, 1, 0, 0);
+		LocalDateTime futuro = LocalDateTime.of(3000, 1, 1, 0, 0);
+		LocalDateTime[][] rangos = {{null, null}, {desde, null}, {null, hasta}, {desde, hasta},
+				{pasado, futuro}, {null, futuro}, {pasado, null}, {futuro, null}, {null, pasado}, {desde, futuro}};
+		for (Tarea.Estado[] filtroEstado : filtrosEstado) {
+			for (Tarea.Prioridad[] filtroPrioridad : filtrosPrioridad) {
+				for (LocalDateTime[] rango : rangos) {
+					Lista<Tarea> esperadas = new Lista<>();
+					for (Tarea tarea : todas) {
+						if ((filtroEstado == null || Arrays.asList(filtroEstado).contains(tarea.getEstado()))
+								&& (filtroPrioridad == null || Arrays.asList(filtroPrioridad).contains(tarea.getPrioridad()))
+								&& (rango[0] == null || !tarea.getFechaCreacion().isBefore(rango[0]))
+								&& (rango[1] == null || !tarea.getFechaCreacion().isAfter(rango[1]))) {
+							esperadas.agregar(tarea);
+						}
+					}
+					Lista<Tarea> filtradas = servicio.filtrarTareas(filtroEstado, filtroPrioridad, rango[0], rango[1]);
+					assertEquals(esperadas.tamanio(), filtradas.tamanio());
+					for (int i = 0; i < esperadas.tamanio(); i++) {
+						assertSame(esperadas.obtener(i), filtradas.obtener(i));
+					}
+
+					// Por páginas se obtienen las mismas tareas
+					int paginadas = 0;
+					Long cursor = null;
+					do {
+						Pagina<Tarea> pagina = servicio.filtrarTareas(filtroEstado, filtroPrioridad, rango[0], rango[1],
+								cursor, 17);
+						for (Tarea tarea : pagina.getElementos()) {
+							assertSame(esperadas.obtener(paginadas++), tarea);
+						}
+						cursor = pagina.getSiguienteCursor();
+					} while (cursor != null);
+					assertEquals(esperadas.tamanio(), paginadas);
+				}
+			}
+		}
+	}
+
+	@Test
+	void lasSugerenciasSiguenElTituloYLaPrioridad() {
+		TareaService servicio = new TareaService();
+		Tarea correo = servicio.agregarTarea("Responder correo", "", Tarea.Prioridad.BAJA);
+		Tarea cliente = servicio.agregarTarea("Responder al cliente", "", Tarea.Prioridad.MEDIA);
+
+		assertSame(cliente, servicio.sugerirTareas("resp", 5).obtener(0));
+
+		servicio.actualizarTarea(correo.getId(), "Responder correo", "", Tarea.Prioridad.ALTA, Tarea.Estado.PENDIENTE);
+		assertSame(correo, servicio.sugerirTareas("resp", 5).obtener(0));
+
+		servicio.actualizarTarea(correo.getId(), "Archivar correo", "", Tarea.Prioridad.ALTA, Tarea.Estado.PENDIENTE);
+		assertEquals(1, servicio.sugerirTareas("resp", 5).tamanio());
+		assertSame(correo, servicio.sugerirTareas("arch", 5).obtener(0));
+
+		servicio.eliminarTarea(cliente.getId());
+		assertEquals(0, servicio.sugerirTareas("resp", 5).tamanio());
+		servicio.deshacerUltimaAccion();
+		assertSame(cliente, servicio.sugerirTareas("resp", 5).obtener(0));
+	}
+}
@@ -0,0 +1,201 @@
+package mx.edu.utez.gestor_tareas.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import mx.edu.utez.gestor_tareas.Service.TareaService;
+import mx.edu.utez.gestor_tareas.model.Pagina;
+import mx.edu.utez.gestor_tareas.model.Tarea;
+import mx.edu.utez.gestor_tareas.util.Lista;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TareaControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TareaService tareaService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private MockHttpSession sesion() {
+		MockHttpSession sesion = new MockHttpSession();
+		sesion.setAttribute("usuario", "prueba");
+		return sesion;
+	}
+
+	@Test
+	void respondeNoModificadoMientrasLaVersionNoCambie() throws Exception {
+		tareaService.agregarTarea("Versionada", "", Tarea.Prioridad.MEDIA);
+		String etag = "\"" + tareaService.obtenerEpoca() + "-" + tareaService.obtenerVersion() + "\"";
+
+		mockMvc.perform(get("/api/tareas").session(sesion()))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", etag));
+
+		mockMvc.perform(get("/api/tareas").session(sesion()).header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		tareaService.agregarTarea("Otra", "", Tarea.Prioridad.BAJA);
+		mockMvc.perform(get("/api/tareas").session(sesion()).header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"" + tareaService.obtenerEpoca() + "-" + tareaService.obtenerVersion() + "\""));
+
+		// La misma versión de otra ejecución (otra época) no cuenta como vigente
+		String deOtraEjecucion = "\"otra-" + tareaService.obtenerVersion() + "\"";
+		mockMvc.perform(get("/api/tareas").session(sesion()).header("If-None-Match", deOtraEjecucion))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void transmiteLaColeccionCompletaPorBloques() throws Exception {
+		// Más tareas que un bloque, para que la respuesta cruce varios
+		for (int i = 0; i < TransmisionJson.TAMANIO_BLOQUE * 2 + 10; i++) {
+			tareaService.agregarTarea("Flujo " + i, "", Tarea.Prioridad.BAJA);
+		}
+		int total = tareaService.obtenerTodasLasTareas().tamanio();
+
+		mockMvc.perform(get("/api/tareas").param("flujo", "true").session(sesion()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(total))
+				.andExpect(jsonPath("$[0].id").value(tareaService.obtenerTodasLasTareas().obtener(0).getId()));
+
+		byte[] cuerpo = mockMvc.perform(get("/api/tareas").param("flujo", "true").session(sesion())
+						.header("Accept-Encoding", "gzip"))
+				.andExpect(header().string("Content-Encoding", "gzip"))
+				.andReturn().getResponse().getContentAsByteArray();
+		String json;
+		try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(cuerpo))) {
+			json = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+		}
+		assertEquals(total, objectMapper.readTree(json).size());
+	}
+
+	@Test
+	void laEtagDelFlujoDependeDeLaCodificacion() throws Exception {
+		tareaService.agregarTarea("Codificada", "", Tarea.Prioridad.MEDIA);
+		String base = tareaService.obtenerEpoca() + "-" + tareaService.obtenerVersion();
+
+		mockMvc.perform(get("/api/tareas").param("flujo", "true").session(sesion())
+						.header("Accept-Encoding", "gzip;q=0, identity"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist("Content-Encoding"))
+				.andExpect(header().string("Vary", "Accept-Encoding"))
+				.andExpect(header().string("ETag", "\"" + base + "-identity\""));
+
+		// La ETag de la versión sin comprimir no sirve para la comprimida
+		mockMvc.perform(get("/api/tareas").param("flujo", "true").session(sesion())
+						.header("Accept-Encoding", "gzip").header("If-None-Match", "\"" + base + "-identity\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Encoding", "gzip"))
+				.andExpect(header().string("ETag", "\"" + base + "-gzip\""));
+		mockMvc.perform(get("/api/tareas").param("flujo", "true").session(sesion())
+						.header("Accept-Encoding", "gzip").header("If-None-Match", "\"" + base + "-gzip\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("Vary", "Accept-Encoding"));
+	}
+
+	@Test
+	void elSegmentoDelArbolSeAcotaYValidaSusLimites() throws Exception {
+		for (int i = 0; i < 1005; i++) {
+			tareaService.agregarTarea("Segmento " + i, "", Tarea.Prioridad.BAJA);
+		}
+
+		mockMvc.perform(get("/api/arbol/segmento").session(sesion()).param("desde", "0").param("hasta", "2000000000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1000));
+		mockMvc.perform(get("/api/arbol/segmento").session(sesion()).param("desde", "5").param("hasta", "2"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/arbol/segmento").session(sesion()).param("desde", "-1").param("hasta", "2"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void aceptaGzipSegunLosPesos() {
+		assertTrue(TareaController.aceptaGzip("gzip, deflate, br"));
+		assertTrue(TareaController.aceptaGzip("deflate;q=1.0, GZIP;q=0.5"));
+		assertTrue(TareaController.aceptaGzip("*"));
+		assertFalse(TareaController.aceptaGzip(null));
+		assertFalse(TareaController.aceptaGzip("identity"));
+		assertFalse(TareaController.aceptaGzip("gzip;q=0"));
+		assertFalse(TareaController.aceptaGzip("gzip; q=0.000, identity"));
+		assertFalse(TareaController.aceptaGzip("*;q=1, gzip;q=0"));
+		assertFalse(TareaController.aceptaGzip("gzip;q=abc"));
+	}
+
+	@Test
+	void elFlujoFallaSiLaTareaDelCursorDesaparece() {
+		Pagina<Integer> primero = new Pagina<>(new Lista<>(), 7L);
+		StreamingResponseBody cuerpo = TransmisionJson.cuerpo(objectMapper, primero, (cursor, limite) -> null, false);
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+		assertThrows(IOException.class, () -> cuerpo.writeTo(salida));
+		// El arreglo queda abierto: el cliente no puede tomarlo por una lista completa
+		assertEquals("[", salida.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void filtraPorEstadoPrioridadYFecha() throws Exception {
+		Tarea tarea = tareaService.agregarTarea("Filtrada", "", Tarea.Prioridad.MEDIA);
+		tareaService.actualizarTarea(tarea.getId(), "Filtrada", "", Tarea.Prioridad.ALTA, Tarea.Estado.EN_PROGRESO);
+		Tarea.Estado[] estados = {Tarea.Estado.EN_PROGRESO};
+		Tarea.Prioridad[] prioridades = {Tarea.Prioridad.ALTA, Tarea.Prioridad.BAJA};
+		int esperadas = tareaService.filtrarTareas(estados, prioridades, tarea.getFechaCreacion(), null).tamanio();
+
+		mockMvc.perform(get("/api/tareas").session(sesion())
+						.param("estado", "EN_PROGRESO")
+						.param("prioridad", "ALTA,BAJA")
+						.param("desde", tarea.getFechaCreacion().toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(esperadas))
+				.andExpect(jsonPath("$[0].id").value(tarea.getId()));
+
+		mockMvc.perform(get("/api/tareas").session(sesion()).param("estado", "ARCHIVADA"))
+				.andExpect(status().isBadRequest());
+
+		// Cursores fuera de rango se acotan como en la paginación sin filtros (sin 500)
+		mockMvc.perform(get("/api/tareas").session(sesion()).param("estado", "EN_PROGRESO")
+						.param("limite", "10").param("cursor", "-5"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.elementos[0].id").value(tarea.getId()));
+		mockMvc.perform(get("/api/tareas").session(sesion()).param("estado", "EN_PROGRESO")
+						.param("limite", "10").param("cursor", String.valueOf(Long.MAX_VALUE)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.elementos.length()").value(0));
+	}
+
+	@Test
+	void limitaElNumeroDeTareasMasUrgentes() throws Exception {
+		for (int i = 0; i < 120; i++) {
+			tareaService.agregarTarea("Urgente " + i, "", Tarea.Prioridad.ALTA);
+		}
+
+		mockMvc.perform(get("/api/arbol/top").param("k", "2000000000").session(sesion()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(100));
+	}
+}
@@ -0,0 +1,65 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArbolBKTest {
+
+	@Test
+	void encuentraLosTerminosCercanosYRespetaLasLapidas() {
+		ArbolBK arbol = new ArbolBK();
+		for (String termino : new String[]{"reunion", "revision", "informe", "reunir", "union", "equipo"}) {
+			arbol.agregar(termino);
+		}
+
+		// "reunion" (transposición) y "reunir" están a 2 ediciones; "union" y "revision" a más
+		Lista<String> cercanos = arbol.buscar("reunoin", 2);
+		assertEquals(2, cercanos.tamanio());
+		assertTrue(cercanos.contiene("reunion") && cercanos.contiene("reunir"));
+		assertEquals(0, arbol.buscar("reunoin", 1).tamanio());
+
+		assertTrue(arbol.eliminar("reunion"));
+		assertEquals(1, arbol.buscar("reunoin", 2).tamanio());
+		assertEquals(5, arbol.tamanio());
+		assertEquals(1, arbol.eliminados());
+
+		arbol.agregar("reunion");
+		assertEquals(2, arbol.buscar("reunoin", 2).tamanio());
+		assertEquals(0, arbol.eliminados());
+	}
+
+	@Test
+	void calculaMuchasMenosDistanciasQueUnRecorridoCompleto() {
+		Random aleatorio = new Random(7);
+		ArbolBK arbol = new ArbolBK();
+		String[] terminos = new String[20_000];
+		for (int i = 0; i < terminos.length; i++) {
+			char[] letras = new char[5 + aleatorio.nextInt(6)];
+			for (int j = 0; j < letras.length; j++) {
+				letras[j] = (char) ('a' + aleatorio.nextInt(26));
+			}
+			terminos[i] = new String(letras);
+			arbol.agregar(terminos[i]);
+		}
+
+		long totalComparaciones = 0;
+		int consultas = 50;
+		for (int i = 0; i < consultas; i++) {
+			// Un término existente con una letra cambiada
+			char[] letras = terminos[aleatorio.nextInt(terminos.length)].toCharArray();
+			letras[aleatorio.nextInt(letras.length)] = (char) ('a' + aleatorio.nextInt(26));
+			long antes = arbol.comparaciones();
+			Lista<String> encontrados = arbol.buscar(new String(letras), 1);
+			totalComparaciones += arbol.comparaciones() - antes;
+			assertTrue(encontrados.tamanio() >= 1);
+		}
+
+		// Con tolerancia 1, el recorrido completo calcularía 20 000 distancias por consulta
+		long promedio = totalComparaciones / consultas;
+		assertTrue(promedio < terminos.length / 4, "Comparaciones promedio por consulta: " + promedio);
+	}
+}
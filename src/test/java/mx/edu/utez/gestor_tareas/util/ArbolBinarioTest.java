@@ -0,0 +1,149 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import mx.edu.utez.gestor_tareas.model.Tarea;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArbolBinarioTest {
+
+	private static Tarea tarea(long id, Tarea.Prioridad prioridad) {
+		return new Tarea(id, "Tarea " + id, "", prioridad, Tarea.Estado.PENDIENTE);
+	}
+
+	// Altura máxima de un árbol AVL con n nodos: 1.44 * log2(n + 2)
+	private static int alturaMaximaAvl(int n) {
+		return (int) Math.ceil(1.4405 * (Math.log(n + 2) / Math.log(2)));
+	}
+
+	@Test
+	void alturaLogaritmicaConIdsSecuencialesYMismaPrioridad() {
+		ArbolBinario arbol = new ArbolBinario();
+		int n = 100_000;
+		for (long id = 1; id <= n; id++) {
+			arbol.insertar(tarea(id, Tarea.Prioridad.MEDIA));
+		}
+		assertEquals(n, arbol.tamanio());
+		assertTrue(arbol.altura() <= alturaMaximaAvl(n), "altura " + arbol.altura());
+	}
+
+	@Test
+	void alturaLogaritmicaDespuesDeEliminar() {
+		ArbolBinario arbol = new ArbolBinario();
+		int n = 50_000;
+		Tarea[] tareas = new Tarea[n];
+		for (int i = 0; i < n; i++) {
+			tareas[i] = tarea(i + 1, Tarea.Prioridad.values()[i % 3]);
+			arbol.insertar(tareas[i]);
+		}
+		for (int i = 0; i < n; i += 2) {
+			assertTrue(arbol.eliminar(tareas[i]));
+		}
+		assertFalse(arbol.eliminar(tareas[0]));
+		assertEquals(n / 2, arbol.tamanio());
+		assertTrue(arbol.altura() <= alturaMaximaAvl(n / 2), "altura " + arbol.altura());
+	}
+
+	@Test
+	void inordenOrdenaPorPrioridadYLuegoPorId() {
+		ArbolBinario arbol = new ArbolBinario();
+		arbol.insertar(tarea(1, Tarea.Prioridad.ALTA));
+		arbol.insertar(tarea(2, Tarea.Prioridad.BAJA));
+		arbol.insertar(tarea(3, Tarea.Prioridad.MEDIA));
+		arbol.insertar(tarea(4, Tarea.Prioridad.BAJA));
+		arbol.insertar(tarea(5, Tarea.Prioridad.ALTA));
+
+		assertIds(new long[]{2, 4, 3, 1, 5}, arbol.recorrerInorden());
+	}
+
+	@Test
+	void recorridosIterativosEnArbolCompleto() {
+		// Con IDs 1..7 y la misma prioridad el AVL queda perfecto: raíz 4, hijos 2 y 6
+		ArbolBinario arbol = new ArbolBinario();
+		for (long id = 1; id <= 7; id++) {
+			arbol.insertar(tarea(id, Tarea.Prioridad.BAJA));
+		}
+		assertIds(new long[]{1, 2, 3, 4, 5, 6, 7}, arbol.recorrerInorden());
+		assertIds(new long[]{4, 2, 1, 3, 6, 5, 7}, arbol.recorrerPreorden());
+		assertIds(new long[]{1, 3, 2, 5, 7, 6, 4}, arbol.recorrerPostorden());
+	}
+
+	@Test
+	void cursoresContinuanDespuesDeCualquierTarea() {
+		ArbolBinario arbol = new ArbolBinario();
+		int n = 200;
+		for (int i = 0; i < n; i++) {
+			arbol.insertar(tarea(i + 1, Tarea.Prioridad.values()[(i * 7) % 3]));
+		}
+		Lista<Tarea> inorden = arbol.recorrerInorden();
+		Lista<Tarea> preorden = arbol.recorrerPreorden();
+		Lista<Tarea> postorden = arbol.recorrerPostorden();
+		for (int i = 0; i < n; i++) {
+			assertRestante(inorden, i, arbol.iteradorInorden(inorden.obtener(i)));
+			assertRestante(preorden, i, arbol.iteradorPreorden(preorden.obtener(i)));
+			assertRestante(postorden, i, arbol.iteradorPostorden(postorden.obtener(i)));
+		}
+	}
+
+	@Test
+	void seleccionarYRangoCoincidenConInordenTrasEliminar() {
+		ArbolBinario arbol = new ArbolBinario();
+		int n = 1000;
+		Tarea[] tareas = new Tarea[n];
+		for (int i = 0; i < n; i++) {
+			tareas[i] = tarea(i + 1, Tarea.Prioridad.values()[(i * 5) % 3]);
+			arbol.insertar(tareas[i]);
+		}
+		for (int i = 0; i < n; i += 3) {
+			arbol.eliminar(tareas[i]);
+		}
+		Lista<Tarea> inorden = arbol.recorrerInorden();
+		for (int i = 0; i < inorden.tamanio(); i++) {
+			assertSame(inorden.obtener(i), arbol.seleccionar(i));
+			assertEquals(i, arbol.rango(inorden.obtener(i)));
+		}
+		assertEquals(-1, arbol.rango(tareas[0]));
+		assertNull(arbol.seleccionar(inorden.tamanio()));
+
+		Lista<Tarea> segmento = arbol.obtenerSegmento(100, 150);
+		assertEquals(50, segmento.tamanio());
+		for (int i = 0; i < segmento.tamanio(); i++) {
+			assertSame(inorden.obtener(100 + i), segmento.obtener(i));
+		}
+	}
+
+	@Test
+	void masUrgentesPrimeroAltaYLuegoMasAntiguas() {
+		ArbolBinario arbol = new ArbolBinario();
+		arbol.insertar(tarea(1, Tarea.Prioridad.BAJA));
+		arbol.insertar(tarea(2, Tarea.Prioridad.ALTA));
+		arbol.insertar(tarea(3, Tarea.Prioridad.MEDIA));
+		arbol.insertar(tarea(4, Tarea.Prioridad.ALTA));
+		arbol.insertar(tarea(5, Tarea.Prioridad.MEDIA));
+
+		assertIds(new long[]{2, 4, 3}, arbol.obtenerMasUrgentes(3));
+		assertIds(new long[]{2, 4, 3, 5, 1}, arbol.obtenerMasUrgentes(10));
+		assertIds(new long[]{}, arbol.obtenerMasUrgentes(0));
+	}
+
+	private static void assertIds(long[] esperados, Lista<Tarea> tareas) {
+		assertEquals(esperados.length, tareas.tamanio());
+		for (int i = 0; i < esperados.length; i++) {
+			assertEquals(esperados[i], tareas.obtener(i).getId());
+		}
+	}
+
+	private static void assertRestante(Lista<Tarea> recorrido, int ultimo, Iterator<Tarea> cursor) {
+		for (int j = ultimo + 1; j < recorrido.tamanio(); j++) {
+			assertTrue(cursor.hasNext());
+			assertSame(recorrido.obtener(j), cursor.next());
+		}
+		assertFalse(cursor.hasNext());
+	}
+}
@@ -0,0 +1,167 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchivoSegmentadoTest {
+
+	private static final ArchivoSegmentado.Codificador<Integer> ENTEROS = new ArchivoSegmentado.Codificador<>() {
+		@Override
+		public void escribir(DataOutput salida, Integer registro) throws IOException {
+			salida.writeInt(registro);
+		}
+
+		@Override
+		public Integer leer(DataInput entrada) throws IOException {
+			return entrada.readInt();
+		}
+	};
+
+	@Test
+	void pilaAcotadaDesalojaLaBaseAlArchivo(@TempDir Path directorio) {
+		try (ArchivoSegmentado<Integer> archivo = new ArchivoSegmentado<>(directorio, "prueba", 7, ENTEROS)) {
+			Pila<Integer> pila = new Pila<>(10, archivo::agregar);
+			for (int i = 0; i < 100; i++) {
+				pila.push(i);
+			}
+			assertEquals(10, pila.tamanio());
+			assertEquals(99, pila.peek());
+			int esperado = 90;
+			for (int valor : pila) {
+				assertEquals(esperado++, valor);
+			}
+			Lista<Integer> todos = pila.obtenerTodos();
+			assertEquals(90, todos.obtener(0));
+			assertEquals(99, todos.obtener(9));
+
+			assertEquals(90, archivo.tamanio());
+			assertEquals(13, archivo.segmentos());
+			for (int i = 9; i >= 5; i--) {
+				assertEquals(90 + i, pila.pop());
+			}
+			pila.push(500);
+			assertEquals(90, archivo.tamanio());
+		}
+	}
+
+	@Test
+	void leePaginasQueCruzanSegmentos(@TempDir Path directorio) {
+		try (ArchivoSegmentado<Integer> archivo = new ArchivoSegmentado<>(directorio, "prueba", 7, ENTEROS)) {
+			for (int i = 0; i < 50; i++) {
+				archivo.agregar(i);
+			}
+			Lista<Integer> pagina = archivo.leer(5, 20);
+			assertEquals(20, pagina.tamanio());
+			for (int i = 0; i < 20; i++) {
+				assertEquals(5 + i, pagina.obtener(i));
+			}
+			assertEquals(3, archivo.leer(47, 10).tamanio());
+			assertEquals(0, archivo.leer(50, 10).tamanio());
+
+			// Tras cerrar, agregar reabre el último segmento y lo continúa
+			archivo.close();
+			archivo.agregar(50);
+			assertEquals(50, archivo.leer(50, 1).obtener(0));
+		}
+	}
+
+	@Test
+	void siElDiscoFallaLosRegistrosSiguenEnMemoriaYSeReintentan(@TempDir Path directorio) {
+		AtomicBoolean fallar = new AtomicBoolean(true);
+		ArchivoSegmentado.Codificador<Integer> fallaEnTrece = new ArchivoSegmentado.Codificador<>() {
+			@Override
+			public void escribir(DataOutput salida, Integer registro) throws IOException {
+				if (registro == 13 && fallar.get()) {
+					throw new IOException("disco lleno");
+				}
+				ENTEROS.escribir(salida, registro);
+			}
+
+			@Override
+			public Integer leer(DataInput entrada) throws IOException {
+				return ENTEROS.leer(entrada);
+			}
+		};
+		ArchivoSegmentado<Integer> archivo = new ArchivoSegmentado<>(directorio, "prueba", 7, fallaEnTrece);
+		for (int i = 0; i < 20; i++) {
+			archivo.agregar(i);
+		}
+		// Al cerrar con el disco fallando, el lote del 7 al 13 y lo que sigue se quedan pendientes
+		archivo.close();
+		assertEquals(13, archivo.pendientes());
+		Lista<Integer> pagina = archivo.leer(0, 20);
+		for (int i = 0; i < 20; i++) {
+			assertEquals(i, pagina.obtener(i));
+		}
+
+		fallar.set(false);
+		archivo.agregar(20);
+		archivo.close();
+		assertEquals(0, archivo.pendientes());
+		pagina = archivo.leer(0, 21);
+		assertEquals(21, pagina.tamanio());
+		for (int i = 0; i < 21; i++) {
+			assertEquals(i, pagina.obtener(i));
+		}
+
+		// El directorio es exclusivo: otro archivo con el mismo prefijo no lo reutiliza
+		assertThrows(IllegalStateException.class, () -> new ArchivoSegmentado<>(directorio, "prueba", 7, ENTEROS));
+		archivo.eliminar();
+		assertFalse(Files.exists(directorio));
+	}
+
+	@Test
+	void conElBufferLlenoSeDescartanLosRegistrosNuevos(@TempDir Path directorio) {
+		AtomicBoolean fallar = new AtomicBoolean(true);
+		ArchivoSegmentado.Codificador<Integer> siempreFalla = new ArchivoSegmentado.Codificador<>() {
+			@Override
+			public void escribir(DataOutput salida, Integer registro) throws IOException {
+				if (fallar.get()) {
+					throw new IOException("disco lleno");
+				}
+				ENTEROS.escribir(salida, registro);
+			}
+
+			@Override
+			public Integer leer(DataInput entrada) throws IOException {
+				return ENTEROS.leer(entrada);
+			}
+		};
+		ArchivoSegmentado<Integer> archivo = new ArchivoSegmentado<>(directorio, "prueba", 7, siempreFalla, 4);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i < 4, archivo.agregar(i), "registro " + i);
+		}
+		archivo.close();
+		// Los rechazados no se numeran: los guardados siguen siendo consecutivos
+		assertEquals(4, archivo.tamanio());
+		assertEquals(4, archivo.pendientes());
+		assertEquals(6, archivo.descartados());
+
+		// Un registro rechazado también despierta al escritor, que vacía el buffer al recuperarse el disco
+		fallar.set(false);
+		assertFalse(archivo.agregar(4));
+		archivo.close();
+		assertEquals(0, archivo.pendientes());
+		assertTrue(archivo.agregar(4));
+		archivo.close();
+		Lista<Integer> pagina = archivo.leer(0, 10);
+		assertEquals(5, pagina.tamanio());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(i, pagina.obtener(i));
+		}
+		assertEquals(7, archivo.descartados());
+		archivo.eliminar();
+	}
+}
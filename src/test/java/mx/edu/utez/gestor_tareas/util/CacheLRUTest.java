@@ -0,0 +1,60 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import mx.edu.utez.gestor_tareas.model.EstadisticasCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CacheLRUTest {
+
+	@Test
+	void desalojaLaEntradaUsadaHaceMasTiempo() {
+		CacheLRU<String> cache = new CacheLRU<>(3);
+		cache.guardar("a", 1, "A");
+		cache.guardar("b", 1, "B");
+		cache.guardar("c", 1, "C");
+		assertEquals("A", cache.obtener("a", 1));
+
+		// "b" es ahora la menos reciente
+		cache.guardar("d", 1, "D");
+		assertNull(cache.obtener("b", 1));
+		assertEquals("A", cache.obtener("a", 1));
+		assertEquals("C", cache.obtener("c", 1));
+		assertEquals("D", cache.obtener("d", 1));
+
+		cache.guardar("c", 1, "C2");
+		cache.guardar("e", 1, "E");
+		assertNull(cache.obtener("a", 1));
+		assertEquals("C2", cache.obtener("c", 1));
+		assertEquals(3, cache.tamanio());
+
+		EstadisticasCache estadisticas = cache.estadisticas();
+		assertEquals(5, estadisticas.getAciertos());
+		assertEquals(2, estadisticas.getFallos());
+		assertEquals(2, estadisticas.getDesalojos());
+	}
+
+	@Test
+	void descartaLasEntradasDeOtraVersion() {
+		CacheLRU<String> cache = new CacheLRU<>(100);
+		for (int i = 0; i < 100; i++) {
+			cache.guardar("consulta " + i, 7, "resultado " + i);
+		}
+		assertEquals("resultado 42", cache.obtener("consulta 42", 7));
+		assertNull(cache.obtener("consulta 42", 8));
+		assertNull(cache.obtener("consulta 42", 7));
+		assertEquals(99, cache.tamanio());
+
+		// Las demás entradas siguen accesibles tras quitar una de la tabla
+		for (int i = 0; i < 100; i++) {
+			if (i != 42) {
+				assertEquals("resultado " + i, cache.obtener("consulta " + i, 7));
+			}
+		}
+		cache.guardar("consulta 42", 8, "nuevo");
+		assertEquals("nuevo", cache.obtener("consulta 42", 8));
+		assertEquals(1, cache.estadisticas().getInvalidadas());
+		assertEquals(0, cache.estadisticas().getDesalojos());
+	}
+}
@@ -0,0 +1,94 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColaConcurrenteTest {
+
+	private static final int PRODUCTORES = 4;
+	private static final int CONSUMIDORES = 4;
+	private static final int ELEMENTOS_POR_PRODUCTOR = 100_000;
+
+	@Test
+	void respetaFifoYSeLlenaHastaSuCapacidad() {
+		ColaConcurrente<Integer> cola = new ColaConcurrente<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(cola.ofrecer(i));
+		}
+		assertFalse(cola.ofrecer(4));
+		cola.ampliar();
+		assertTrue(cola.ofrecer(4));
+		assertEquals(5, cola.tamanio());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(i, cola.sondear());
+		}
+		assertNull(cola.sondear());
+	}
+
+	@Test
+	void variosProductoresYConsumidoresEntreganCadaElementoUnaVez() throws Exception {
+		ColaConcurrente<Integer> cola = new ColaConcurrente<>(1024);
+		int total = PRODUCTORES * ELEMENTOS_POR_PRODUCTOR;
+		AtomicIntegerArray recibidos = new AtomicIntegerArray(total);
+		ejecutar(cola, recibidos);
+		for (int i = 0; i < total; i++) {
+			assertEquals(1, recibidos.get(i), "elemento " + i);
+		}
+	}
+
+	// Ejecuta productores y consumidores concurrentes hasta que se consumen todos los elementos
+	private static void ejecutar(ColaConcurrente<Integer> cola, AtomicIntegerArray recibidos) throws Exception {
+		int total = recibidos.length();
+		AtomicInteger consumidos = new AtomicInteger();
+		CountDownLatch inicio = new CountDownLatch(1);
+		Thread[] hilos = new Thread[PRODUCTORES + CONSUMIDORES];
+		for (int p = 0; p < PRODUCTORES; p++) {
+			int base = p * ELEMENTOS_POR_PRODUCTOR;
+			hilos[p] = new Thread(() -> {
+				esperar(inicio);
+				for (int i = 0; i < ELEMENTOS_POR_PRODUCTOR; i++) {
+					while (!cola.ofrecer(base + i)) {
+						Thread.yield();
+					}
+				}
+			});
+		}
+		for (int c = 0; c < CONSUMIDORES; c++) {
+			hilos[PRODUCTORES + c] = new Thread(() -> {
+				esperar(inicio);
+				while (consumidos.get() < total) {
+					Integer elemento = cola.sondear();
+					if (elemento == null) {
+						Thread.yield();
+					} else {
+						recibidos.incrementAndGet(elemento);
+						consumidos.incrementAndGet();
+					}
+				}
+			});
+		}
+		for (Thread hilo : hilos) {
+			hilo.start();
+		}
+		inicio.countDown();
+		for (Thread hilo : hilos) {
+			hilo.join();
+		}
+	}
+
+	private static void esperar(CountDownLatch inicio) {
+		try {
+			inicio.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IndiceInvertidoTest {
+
+	@Test
+	void normalizaMayusculasYAcentos() {
+		Lista<String> terminos = IndiceInvertido.terminos("Revisar la CANCIÓN del año, v2.0");
+		assertEquals(7, terminos.tamanio());
+		assertEquals("revisar", terminos.obtener(0));
+		assertEquals("cancion", terminos.obtener(2));
+		assertEquals("ano", terminos.obtener(4));
+		assertEquals("v2", terminos.obtener(5));
+		assertEquals("0", terminos.obtener(6));
+	}
+
+	@Test
+	void buscaConTodosLosTerminosYPrefijos() {
+		IndiceInvertido indice = new IndiceInvertido();
+		indice.agregar(1, "Comprar leche", "en la tienda");
+		indice.agregar(2, "Comprar pan", null);
+		indice.agregar(3, "Llamar a la tienda", "Comprobar horario");
+		indice.agregar(4, "Canción nueva", "compás");
+
+		assertArrayEquals(new long[]{1, 2}, indice.buscar("comprar"));
+		assertArrayEquals(new long[]{1, 2, 3, 4}, indice.buscar("comp"));
+		assertArrayEquals(new long[]{1, 3}, indice.buscar("TIENDA comp"));
+		assertArrayEquals(new long[]{4}, indice.buscar("cancion"));
+		assertArrayEquals(new long[0], indice.buscar("comprar tienda pan"));
+		assertNull(indice.buscar("  ¿? "));
+
+		indice.eliminar(1, "Comprar leche", "en la tienda");
+		assertArrayEquals(new long[]{3}, indice.buscar("tienda"));
+		assertArrayEquals(new long[0], indice.buscar("leche"));
+		indice.eliminar(2, "Comprar pan", null);
+		indice.eliminar(3, "Llamar a la tienda", "Comprobar horario");
+		indice.eliminar(4, "Canción nueva", "compás");
+		assertEquals(0, indice.numeroTerminos());
+	}
+}
@@ -0,0 +1,87 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ListaTest {
+
+	private static Lista<Integer> numeros(int n) {
+		Lista<Integer> lista = new Lista<>();
+		for (int i = 0; i < n; i++) {
+			lista.agregar(i);
+		}
+		return lista;
+	}
+
+	@Test
+	void eliminarSiCompactaConservandoElOrden() {
+		Lista<Integer> lista = numeros(10);
+		assertEquals(5, lista.eliminarSi(n -> n % 2 == 0));
+		assertEquals(5, lista.tamanio());
+		for (int i = 0; i < lista.tamanio(); i++) {
+			assertEquals(2 * i + 1, lista.obtener(i));
+		}
+	}
+
+	@Test
+	void agregarTodosYRecortar() {
+		Lista<Integer> lista = numeros(3);
+		lista.agregarTodos(numeros(25));
+		assertEquals(28, lista.tamanio());
+		assertEquals(24, lista.obtener(27));
+		lista.recortar();
+		lista.agregar(99);
+		assertEquals(99, lista.obtener(28));
+	}
+
+	@Test
+	void eliminarSinOrdenMueveElUltimo() {
+		Lista<Integer> lista = numeros(5);
+		assertEquals(1, lista.eliminarSinOrden(1));
+		assertEquals(4, lista.tamanio());
+		assertEquals(4, lista.obtener(1));
+	}
+
+	@Test
+	void insertarYEliminarPorIndiceDesplazanEnBloque() {
+		Lista<Integer> lista = numeros(5);
+		lista.agregar(2, 42);
+		assertEquals(42, lista.obtener(2));
+		assertEquals(2, lista.obtener(3));
+		assertEquals(42, lista.eliminar(2));
+		assertEquals(5, lista.tamanio());
+		assertEquals(2, lista.obtener(2));
+	}
+
+	@Test
+	void flujoParaleloRecorreTodosEnOrden() {
+		Lista<Integer> lista = numeros(100_000);
+		Lista<Integer> pares = lista.flujo(true)
+				.filter(n -> n % 2 == 0)
+				.collect(Lista::new, Lista::agregar, Lista::agregarTodos);
+		assertEquals(50_000, pares.tamanio());
+		for (int i = 0; i < pares.tamanio(); i++) {
+			assertEquals(2 * i, pares.obtener(i));
+		}
+	}
+
+	@Test
+	void colaSeRecorreDesdeElFrenteAunqueElBufferDeLaVuelta() {
+		Cola<Integer> cola = new Cola<>();
+		for (int i = 0; i < 8; i++) {
+			cola.encolar(i);
+		}
+		for (int i = 0; i < 5; i++) {
+			cola.desencolar();
+		}
+		for (int i = 8; i < 14; i++) {
+			cola.encolar(i);
+		}
+		int esperado = 5;
+		for (int valor : cola) {
+			assertEquals(esperado++, valor);
+		}
+		assertEquals(14, esperado);
+	}
+}
@@ -0,0 +1,55 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MapaBitsTest {
+
+	@Test
+	void recorreLosBitsEncendidosEnOrden() {
+		MapaBits mapa = new MapaBits();
+		mapa.activar(3);
+		mapa.activar(64);
+		mapa.activar(200);
+		mapa.activar(63);
+		mapa.desactivar(64);
+		mapa.desactivar(10_000);
+
+		assertEquals(3, mapa.siguiente(0));
+		assertEquals(63, mapa.siguiente(4));
+		assertEquals(200, mapa.siguiente(64));
+		assertEquals(-1, mapa.siguiente(201));
+		assertEquals(-1, mapa.siguiente(5_000));
+		assertEquals(3, mapa.cardinalidad());
+		assertTrue(mapa.contiene(200));
+		assertFalse(mapa.contiene(64));
+	}
+
+	@Test
+	void combinaConYyO() {
+		MapaBits pares = new MapaBits();
+		MapaBits multiplosDeTres = new MapaBits();
+		for (int i = 0; i < 300; i++) {
+			if (i % 2 == 0) {
+				pares.activar(i);
+			}
+			if (i % 3 == 0 && i < 150) {
+				multiplosDeTres.activar(i);
+			}
+		}
+
+		MapaBits ambos = pares.copia().y(multiplosDeTres);
+		assertEquals(25, ambos.cardinalidad());
+		assertEquals(144, ambos.siguiente(139));
+		assertEquals(-1, ambos.siguiente(145));
+
+		MapaBits alguno = multiplosDeTres.copia().o(pares);
+		assertEquals(150 + 25, alguno.cardinalidad());
+		// Las copias no comparten palabras con el original
+		assertEquals(150, pares.cardinalidad());
+		assertEquals(50, multiplosDeTres.cardinalidad());
+	}
+}
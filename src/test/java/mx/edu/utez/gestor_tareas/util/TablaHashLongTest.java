@@ -0,0 +1,104 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TablaHashLongTest {
+
+	// Misma mezcla que TablaHashLong.posicion, para elegir claves que choquen en una tabla de 16
+	private static int posicion(long clave) {
+		long mezcla = clave * 0x9E3779B97F4A7C15L;
+		return (int) (mezcla ^ (mezcla >>> 32)) & 15;
+	}
+
+	// Primeras "cantidad" claves positivas cuya posición inicial es "ranura"
+	private static long[] clavesEnRanura(int ranura, int cantidad) {
+		long[] claves = new long[cantidad];
+		int encontradas = 0;
+		for (long clave = 1; encontradas < cantidad; clave++) {
+			if (posicion(clave) == ranura) {
+				claves[encontradas++] = clave;
+			}
+		}
+		return claves;
+	}
+
+	@Test
+	void insertarDevuelveElValorAnterior() {
+		TablaHashLong<String> tabla = new TablaHashLong<>();
+		assertNull(tabla.insertar(7, "a"));
+		assertEquals("a", tabla.insertar(7, "b"));
+		assertEquals(1, tabla.tamanio());
+		assertEquals("b", tabla.obtener(7));
+		assertEquals("b", tabla.eliminar(7));
+		assertNull(tabla.eliminar(7));
+		assertTrue(tabla.estaVacia());
+	}
+
+	@Test
+	void eliminarEnMedioDeUnaCadenaQueDaLaVuelta() {
+		// Cuatro claves que empiezan en la última ranura: ocupan 15, 0, 1 y 2 (la cadena da la vuelta)
+		long[] cadena = clavesEnRanura(15, 4);
+		// Una clave cuya ranura ideal es la 0, desplazada por la cadena hasta la 3
+		long desplazada = clavesEnRanura(0, 1)[0];
+		TablaHashLong<Long> tabla = new TablaHashLong<>();
+		for (long clave : cadena) {
+			tabla.insertar(clave, clave);
+		}
+		tabla.insertar(desplazada, desplazada);
+
+		// Al quitar la cabeza, las siguientes deben retroceder sin perder a la desplazada
+		assertEquals(cadena[0], tabla.eliminar(cadena[0]));
+		assertNull(tabla.obtener(cadena[0]));
+		for (int i = 1; i < cadena.length; i++) {
+			assertEquals(cadena[i], tabla.obtener(cadena[i]));
+		}
+		assertEquals(desplazada, tabla.obtener(desplazada));
+
+		// Quitar una del medio (tras la vuelta) tampoco corta la cadena
+		assertEquals(cadena[2], tabla.eliminar(cadena[2]));
+		assertEquals(cadena[1], tabla.obtener(cadena[1]));
+		assertEquals(cadena[3], tabla.obtener(cadena[3]));
+		assertEquals(desplazada, tabla.obtener(desplazada));
+		assertEquals(3, tabla.tamanio());
+
+		// Reinsertar después de los desplazamientos no duplica claves
+		assertNull(tabla.insertar(cadena[0], -1L));
+		assertEquals(cadena[3], tabla.insertar(cadena[3], -3L));
+		assertEquals(4, tabla.tamanio());
+		assertEquals(-3L, tabla.obtener(cadena[3]));
+	}
+
+	@Test
+	void coincideConUnMapaDeReferenciaAlCrecerYEliminar() {
+		Random aleatorio = new Random(11);
+		TablaHashLong<Long> tabla = new TablaHashLong<>();
+		Map<Long, Long> referencia = new HashMap<>();
+		for (int i = 0; i < 20_000; i++) {
+			// Claves en un rango pequeño para provocar colisiones, reemplazos y eliminaciones
+			long clave = aleatorio.nextInt(2_000) - 500;
+			if (aleatorio.nextInt(3) == 0) {
+				assertEquals(referencia.remove(clave), tabla.eliminar(clave));
+			} else {
+				long valor = aleatorio.nextLong();
+				assertEquals(referencia.put(clave, valor), tabla.insertar(clave, valor));
+			}
+			assertEquals(referencia.size(), tabla.tamanio());
+		}
+		for (long clave = -500; clave < 1_500; clave++) {
+			assertEquals(referencia.get(clave), tabla.obtener(clave));
+			assertEquals(referencia.containsKey(clave), tabla.contiene(clave));
+		}
+		tabla.limpiar();
+		assertTrue(tabla.estaVacia());
+		assertFalse(tabla.contiene(0));
+	}
+}
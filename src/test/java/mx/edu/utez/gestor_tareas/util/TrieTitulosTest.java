@@ -0,0 +1,125 @@
+package mx.edu.utez.gestor_tareas.util;
+
+import mx.edu.utez.gestor_tareas.model.Tarea;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieTitulosTest {
+
+	private static Tarea tarea(long id, String titulo, Tarea.Prioridad prioridad) {
+		return new Tarea(id, titulo, "", prioridad, Tarea.Estado.PENDIENTE);
+	}
+
+	@Test
+	void sugiereSegunElPrefijoConLaMayorPrioridadPrimero() {
+		TrieTitulos trie = new TrieTitulos();
+		Tarea baja = tarea(1, "Revisar correo", Tarea.Prioridad.BAJA);
+		Tarea alta = tarea(2, "Revisión del código", Tarea.Prioridad.ALTA);
+		Tarea media = tarea(3, "REVISAR  contrato", Tarea.Prioridad.MEDIA);
+		Tarea otra = tarea(4, "Llamar a soporte", Tarea.Prioridad.ALTA);
+		trie.insertar(baja);
+		trie.insertar(alta);
+		trie.insertar(media);
+		trie.insertar(otra);
+
+		Lista<Tarea> sugeridas = trie.sugerir("rev", 10);
+		assertEquals(3, sugeridas.tamanio());
+		assertSame(alta, sugeridas.obtener(0));
+		assertSame(media, sugeridas.obtener(1));
+		assertSame(baja, sugeridas.obtener(2));
+
+		assertSame(alta, trie.sugerir("revision", 10).obtener(0));
+		assertSame(media, trie.sugerir("revisar c", 1).obtener(0));
+		assertEquals(2, trie.sugerir("", 2).tamanio());
+		assertEquals(0, trie.sugerir("x", 10).tamanio());
+	}
+
+	@Test
+	void eliminarDescuentaYPodaLasRamas() {
+		TrieTitulos trie = new TrieTitulos();
+		Tarea uno = tarea(1, "Pagar luz", Tarea.Prioridad.MEDIA);
+		Tarea dos = tarea(2, "Pagar luz", Tarea.Prioridad.ALTA);
+		trie.insertar(uno);
+		trie.insertar(dos);
+
+		assertTrue(trie.eliminar(dos));
+		assertFalse(trie.eliminar(dos));
+		assertSame(uno, trie.sugerir("pagar", 5).obtener(0));
+		assertEquals(1, trie.tamanio());
+
+		assertTrue(trie.eliminar(uno));
+		assertEquals(0, trie.sugerir("p", 5).tamanio());
+		assertEquals(0, trie.tamanio());
+	}
+
+	@Test
+	void coincideConUnaBusquedaLinealAlDividirYFusionarTramos() {
+		Random aleatorio = new Random(3);
+		String[] palabras = {"pagar", "pago", "pagos", "luz", "lucas", "agua", "a", "ab", "abc"};
+		Tarea.Prioridad[] prioridades = Tarea.Prioridad.values();
+		TrieTitulos trie = new TrieTitulos();
+		List<Tarea> insertadas = new ArrayList<>();
+		for (int i = 0; i < 3_000; i++) {
+			if (insertadas.isEmpty() || aleatorio.nextInt(3) > 0) {
+				String titulo = palabras[aleatorio.nextInt(palabras.length)];
+				if (aleatorio.nextBoolean()) {
+					titulo += " " + palabras[aleatorio.nextInt(palabras.length)];
+				}
+				Tarea tarea = tarea(i, titulo, prioridades[aleatorio.nextInt(prioridades.length)]);
+				trie.insertar(tarea);
+				insertadas.add(tarea);
+			} else {
+				assertTrue(trie.eliminar(insertadas.remove(aleatorio.nextInt(insertadas.size()))));
+			}
+		}
+		assertEquals(insertadas.size(), trie.tamanio());
+		String[] prefijos = {"", "p", "pa", "pag", "pago", "pagos", "pagar l", "pagar luz", "a", "ab", "abc", "abcd", "l", "lu", "luc", "z"};
+		for (String prefijo : prefijos) {
+			List<Tarea> esperadas = new ArrayList<>();
+			for (Tarea tarea : insertadas) {
+				if (TrieTitulos.normalizar(tarea.getTitulo()).startsWith(prefijo)) {
+					esperadas.add(tarea);
+				}
+			}
+			// Por prioridad y luego por título; el orden estable conserva el de inserción en los empates
+			esperadas.sort(Comparator.comparing((Tarea tarea) -> tarea.getPrioridad().ordinal())
+					.thenComparing(tarea -> TrieTitulos.normalizar(tarea.getTitulo())));
+			for (int limite : new int[]{1, 7, esperadas.size() + 1}) {
+				Lista<Tarea> sugeridas = trie.sugerir(prefijo, limite);
+				assertEquals(Math.min(limite, esperadas.size()), sugeridas.tamanio());
+				for (int i = 0; i < sugeridas.tamanio(); i++) {
+					assertSame(esperadas.get(i), sugeridas.obtener(i));
+				}
+			}
+		}
+	}
+
+	@Test
+	void soportaTitulosMuyLargos() {
+		TrieTitulos trie = new TrieTitulos();
+		StringBuilder titulo = new StringBuilder();
+		for (int i = 0; i < 50_000; i++) {
+			titulo.append("ab ");
+		}
+		Tarea larga = tarea(1, titulo.toString(), Tarea.Prioridad.MEDIA);
+		Tarea corta = tarea(2, "ab ab", Tarea.Prioridad.BAJA);
+		trie.insertar(larga);
+		trie.insertar(corta);
+		Lista<Tarea> sugeridas = trie.sugerir("ab ab ab", 5);
+		assertEquals(1, sugeridas.tamanio());
+		assertSame(larga, sugeridas.obtener(0));
+		assertEquals(2, trie.sugerir("ab", 5).tamanio());
+		assertTrue(trie.eliminar(corta));
+		assertTrue(trie.eliminar(larga));
+		assertEquals(0, trie.sugerir("", 5).tamanio());
+	}
+}